@@ -0,0 +1,22 @@
+package ch.uzh.ifi.hase.soprafs23.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method in a new transaction again when it failed on an optimistic locking conflict,
+ * i.e. another request changed the same game or round in between. After the last attempt the caller
+ * gets a CONFLICT. Retries only happen where the method starts the transaction, a method called
+ * inside an existing transaction leaves the conflict to its caller.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    int maxAttempts() default 3;
+
+    long backoffMillis() default 20;
+
+}
@@ -0,0 +1,78 @@
+package ch.uzh.ifi.hase.soprafs23.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries the methods annotated with RetryOnConflict. It is ordered before the transaction advice,
+ * so every attempt runs in a transaction of its own. The attempts, conflicts and failed calls are
+ * counted per method in game.lock.attempts, game.lock.conflicts and game.lock.failures.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryOnConflictAspect {
+
+    private final Logger log = LoggerFactory.getLogger(RetryOnConflictAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryOnConflictAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().toShortString();
+        for (int attempt = 1; ; attempt++) {
+            meterRegistry.counter("game.lock.attempts", "method", method).increment();
+            try {
+                return joinPoint.proceed();
+            }
+            catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("game.lock.conflicts", "method", method).increment();
+
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    meterRegistry.counter("game.lock.failures", "method", method).increment();
+                    log.warn("{} still conflicted after {} attempts.", method, attempt);
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "The game was changed at the same time, please try again.");
+                }
+                backOff(retryOnConflict.backoffMillis(), attempt);
+            }
+        }
+    }
+
+    /**
+     * Waits a little longer after every attempt, the jitter keeps
+     * conflicting requests from retrying in lockstep.
+     */
+    private static void backOff(long backoffMillis, int attempt) {
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "The game was changed at the same time, please try again.");
+        }
+    }
+}
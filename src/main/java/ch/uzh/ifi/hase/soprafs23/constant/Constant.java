@@ -13,6 +13,21 @@ public class Constant {
 
     public static final int QUOTE_MAX_LENGTH =255;
     public static final int MAX_ALLOWED_OF_PLAYERS = 10;
+    public static final int MAX_ALLOWED_OF_PLAYERS_LARGE_LOBBY = 100;
     public static final int ANSWER_MAX_LENGTH =25;
 
+    public static final int MESSAGE_LOG_CAPACITY = 512;
+    public static final String SEQUENCE_HEADER = "sequence";
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final int IDEMPOTENCY_CACHE_CAPACITY = 10_000;
+    public static final String SESSION_USER_TOKEN = "userToken";
+    public static final String VOTING_QUEUE = "/queue/votings";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final int USERNAME_FILTER_EXPECTED_USERNAMES = 100_000;
+    public static final double USERNAME_FILTER_FALSE_POSITIVE_RATE = 0.01;
+
 }
\ No newline at end of file
@@ -1,25 +1,35 @@
 package ch.uzh.ifi.hase.soprafs23.controller;
 
 
+import ch.uzh.ifi.hase.soprafs23.ratelimit.EndpointClass;
+import ch.uzh.ifi.hase.soprafs23.ratelimit.RateLimit;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.AdvancedStatisticGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameHistoryGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.AdvancedStatisticService;
+import ch.uzh.ifi.hase.soprafs23.service.GameHistoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 public class AdvancedStatisticController {
 
     private final AdvancedStatisticService advancedStatisticService;
+    private final GameHistoryService gameHistoryService;
 
     Logger log = LoggerFactory.getLogger(AdvancedStatisticController.class);
 
-    public AdvancedStatisticController(AdvancedStatisticService advancedStatisticService) {
+    public AdvancedStatisticController(AdvancedStatisticService advancedStatisticService,
+                                       GameHistoryService gameHistoryService) {
         this.advancedStatisticService = advancedStatisticService;
+        this.gameHistoryService = gameHistoryService;
     }
 
     @GetMapping("users/{userId}/advancedStatistics")
+    @RateLimit(EndpointClass.EXPENSIVE)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public AdvancedStatisticGetDTO getAdvancedUserStatistic (@PathVariable ("userId") int userId){
@@ -27,4 +37,13 @@ public class AdvancedStatisticController {
         return advancedStatisticService.getAdvancedUserStatistic(userId);
     }
 
+    @GetMapping("users/{userId}/history")
+    @RateLimit(EndpointClass.EXPENSIVE)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public List<GameHistoryGetDTO> getUserHistory(@PathVariable("userId") int userId) {
+
+        return gameHistoryService.getUserHistory(userId);
+    }
+
 }
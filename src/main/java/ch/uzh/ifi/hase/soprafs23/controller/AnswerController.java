@@ -1,5 +1,9 @@
 package ch.uzh.ifi.hase.soprafs23.controller;
 
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudget;
+import ch.uzh.ifi.hase.soprafs23.repository.IdempotencyRepository;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundAnswersGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,14 +27,18 @@ public class AnswerController {
     }
 
     @PostMapping("/games/{gamePin}/{roundNumber}")
+    @QueryBudget(16)
     @ResponseStatus(HttpStatus.CREATED)
     @ResponseBody
     public void saveAnswers(@PathVariable("gamePin") int gamePin,
                             @PathVariable("roundNumber") int roundNumber,
                             @RequestHeader("Authorization") String userToken,
+                            @RequestHeader(value = Constant.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                             @RequestBody Map<String, String> answers) {
 
-        answerService.saveAnswers(gamePin, userToken, roundNumber, answers);
+        // a retried submission gets the outcome of the first one instead of running again
+        String key = IdempotencyRepository.createKey(userToken, gamePin + "/" + roundNumber, idempotencyKey);
+        IdempotencyRepository.runOnce(key, answers, () -> answerService.saveAnswers(gamePin, userToken, roundNumber, answers));
 
         String logInfo = String.format(
                 "Answers saved for gamePin: %d, userToken: %s, roundNumber: %d.",
@@ -38,7 +46,19 @@ public class AnswerController {
         logger.info(logInfo);
     }
 
+    @PutMapping("/games/{gamePin}/{roundNumber}/draft")
+    @QueryBudget(8)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void saveDraft(@PathVariable("gamePin") int gamePin,
+                          @PathVariable("roundNumber") int roundNumber,
+                          @RequestHeader("Authorization") String userToken,
+                          @RequestBody Map<String, String> answers) {
+
+        answerService.saveDraft(gamePin, userToken, roundNumber, answers);
+    }
+
     @GetMapping("/games/{gamePin}/{roundNumber}/{categoryName}")
+    @QueryBudget(10)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<Map<Integer, String>> getAnswers(@PathVariable("gamePin") int gamePin,
@@ -56,6 +76,24 @@ public class AnswerController {
         return mapList;
     }
 
+    @GetMapping("/games/{gamePin}/rounds/{roundNumber}/answers")
+    @QueryBudget(10)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public RoundAnswersGetDTO getRoundAnswers(@PathVariable("gamePin") int gamePin,
+                                              @PathVariable("roundNumber") int roundNumber,
+                                              @RequestHeader("Authorization") String userToken) {
+
+        RoundAnswersGetDTO roundAnswersGetDTO = answerService.getRoundAnswers(gamePin, roundNumber, userToken);
+
+        String logInfo = String.format(
+                "Answers of all categories received from game -> gamePin: %d, roundNumber: %d.",
+                gamePin, roundNumber);
+        logger.info(logInfo);
+
+        return roundAnswersGetDTO;
+    }
+
 
 
 }
@@ -1,6 +1,13 @@
 package ch.uzh.ifi.hase.soprafs23.controller;
 
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.helper.JsonStreamHelper;
+import ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudget;
+import ch.uzh.ifi.hase.soprafs23.ratelimit.AdmissionControlled;
+import ch.uzh.ifi.hase.soprafs23.ratelimit.EndpointClass;
+import ch.uzh.ifi.hase.soprafs23.ratelimit.RateLimit;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameSettingView;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.rejoin.RejoinPossibleDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.rejoin.RejoinRequestDTO;
 import ch.uzh.ifi.hase.soprafs23.service.CategoryService;
@@ -9,11 +16,15 @@ import ch.uzh.ifi.hase.soprafs23.rest.dto.game.*;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameCategoriesDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.mapper.UserDTOMapper;
 import ch.uzh.ifi.hase.soprafs23.rest.mapper.GameDTOMapper;
+import ch.uzh.ifi.hase.soprafs23.service.GameMailboxService;
 import ch.uzh.ifi.hase.soprafs23.service.GameService;
 import ch.uzh.ifi.hase.soprafs23.service.RoundService;
 import ch.uzh.ifi.hase.soprafs23.websocketDto.GameUsersDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,13 +33,19 @@ public class GameController {
 
     private final GameService gameService;
     private final RoundService roundService;
-    GameController(GameService gameService, RoundService roundService) {
+    private final GameMailboxService gameMailboxService;
+    private final ObjectMapper objectMapper;
+    GameController(GameService gameService, RoundService roundService,
+                   GameMailboxService gameMailboxService, ObjectMapper objectMapper) {
         this.roundService = roundService;
         this.gameService = gameService;
+        this.gameMailboxService = gameMailboxService;
+        this.objectMapper = objectMapper;
 
     }
 
     @PostMapping("/games/lobbies/creation")
+    @AdmissionControlled
     @ResponseStatus(HttpStatus.CREATED)
     @ResponseBody
     public int createGame(@RequestBody GamePostDTO gamePostDTO, @RequestHeader("Authorization") String userToken) {
@@ -42,10 +59,12 @@ public class GameController {
     @PutMapping("/games/{gamePin}/start")
     public void gameStart(@PathVariable("gamePin") int gamePin) {
 
-        gameService.setUpGameForStart(gamePin);
-        roundService.nextRound(gamePin);
+        gameMailboxService.execute(gamePin, () -> {
+            gameService.setUpGameForStart(gamePin);
+            roundService.nextRound(gamePin);
 
-        roundService.startRoundTime(gamePin);
+            roundService.startRoundTime(gamePin);
+        });
 
     }
 
@@ -75,17 +94,19 @@ public class GameController {
     }
 
     @GetMapping("games/{gamePin}/settings")
+    @QueryBudget(1)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public GameSettingGetDTO getGameSettingByGamePin(@PathVariable("gamePin") int gamePin) {
 
-        Game game = gameService.getGameByGamePin(gamePin);
+        GameSettingView gameSettingView = gameService.getGameSettingByGamePin(gamePin);
 
-        return UserDTOMapper.INSTANCE.convertEntityToGameSettingGetDTO(game);
+        return UserDTOMapper.INSTANCE.convertGameSettingViewToGameSettingGetDTO(gameSettingView);
 
     }
 
     @GetMapping("games/{gamePin}/users")
+    @QueryBudget(3)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public GameUsersDTO getGameUsersByGamePin(@PathVariable("gamePin") int gamePin) {
@@ -99,7 +120,7 @@ public class GameController {
     public void joinGame(@PathVariable("gamePin") int gamePin,
                          @RequestHeader("Authorization") String userToken) {
 
-        gameService.joinGame(gamePin, userToken);
+        gameMailboxService.execute(gamePin, () -> gameService.joinGame(gamePin, userToken));
 
     }
 
@@ -108,11 +129,12 @@ public class GameController {
     public void leaveGame(@PathVariable("gamePin") int gamePin,
                           @RequestHeader("Authorization") String userToken) {
 
-        gameService.leaveGame(gamePin, userToken);
+        gameMailboxService.execute(gamePin, () -> gameService.leaveGame(gamePin, userToken));
 
     }
 
     @GetMapping("/games/lobbies/{gamePin}/winner")
+    @QueryBudget(12)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<WinnerGetDTO> getWinner(@PathVariable("gamePin") int gamePin) {
@@ -122,6 +144,7 @@ public class GameController {
     }
 
     @GetMapping("/games/lobbies/{gamePin}/scoreboard")
+    @QueryBudget(12)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<ScoreboardGetDTO> getScoreboard(@PathVariable("gamePin") int gamePin) {
@@ -131,6 +154,8 @@ public class GameController {
     }
 
     @GetMapping("/games/lobbies/leaderboard")
+    @RateLimit(EndpointClass.EXPENSIVE)
+    @QueryBudget(1)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<LeaderboardGetDTO> getLeaderboard() {
@@ -139,6 +164,27 @@ public class GameController {
 
     }
 
+    @GetMapping("/games/lobbies/leaderboard/page")
+    @RateLimit(EndpointClass.EXPENSIVE)
+    @QueryBudget(1)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public LeaderboardPageGetDTO getLeaderboardPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "limit", defaultValue = "" + Constant.DEFAULT_PAGE_SIZE) int limit) {
+
+        return gameService.getLeaderboardPage(cursor, limit);
+
+    }
+
+    @GetMapping(value = "/games/lobbies/leaderboard/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @RateLimit(EndpointClass.EXPENSIVE)
+    @ResponseStatus(HttpStatus.OK)
+    public StreamingResponseBody streamLeaderboard() {
+
+        return JsonStreamHelper.<LeaderboardGetDTO>streamJsonArray(objectMapper, gameService::streamLeaderboard);
+
+    }
+
     @GetMapping("/games/lobbies/rejoinPossible")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
@@ -0,0 +1,148 @@
+package ch.uzh.ifi.hase.soprafs23.controller;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
+import ch.uzh.ifi.hase.soprafs23.service.GameMailboxService;
+import ch.uzh.ifi.hase.soprafs23.service.GameService;
+import ch.uzh.ifi.hase.soprafs23.service.RoundService;
+import ch.uzh.ifi.hase.soprafs23.service.VoteService;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.AckDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.ErrorDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.ResumeDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.ResumeRequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Game Message Controller
+ * This class handles the STOMP messages clients send to the /app destinations.
+ * The sender is identified by the principal and token attached to the session at CONNECT,
+ * replies are sent to the user queue of the requesting session only.
+ * The work itself is delegated to the same services the REST controllers use.
+ */
+@Controller
+public class GameMessageController {
+
+    private final GameService gameService;
+    private final AnswerService answerService;
+    private final VoteService voteService;
+    private final RoundService roundService;
+    private final GameMailboxService gameMailboxService;
+
+    Logger logger = LoggerFactory.getLogger(GameMessageController.class);
+
+    GameMessageController(GameService gameService,
+                          AnswerService answerService,
+                          VoteService voteService,
+                          RoundService roundService,
+                          GameMailboxService gameMailboxService) {
+        this.gameService = gameService;
+        this.answerService = answerService;
+        this.voteService = voteService;
+        this.roundService = roundService;
+        this.gameMailboxService = gameMailboxService;
+    }
+
+    @MessageMapping("/games/{gamePin}/resume")
+    @SendToUser(value = "/queue/resume", broadcast = false)
+    public ResumeDTO resume(@DestinationVariable("gamePin") int gamePin,
+                            ResumeRequestDTO resumeRequestDTO,
+                            Principal principal) {
+
+        ResumeDTO resumeDTO = gameService.resumeGame(gamePin, getUserId(principal), principal.getName(),
+                resumeRequestDTO.getLastSequence());
+
+        String logInfo = String.format("Resume for gamePin: %d after sequence: %d, %d messages replayed.",
+                gamePin, resumeRequestDTO.getLastSequence(), resumeDTO.getMessages().size());
+        logger.info(logInfo);
+
+        return resumeDTO;
+    }
+
+    @MessageMapping("/games/{gamePin}/{roundNumber}/answers")
+    @SendToUser(value = "/queue/acks", broadcast = false)
+    public AckDTO saveAnswers(@DestinationVariable("gamePin") int gamePin,
+                              @DestinationVariable("roundNumber") int roundNumber,
+                              @Payload Map<String, String> answers,
+                              SimpMessageHeaderAccessor headerAccessor) {
+
+        String userToken = getSessionUserToken(headerAccessor);
+        answerService.saveAnswers(gamePin, userToken, roundNumber, answers);
+
+        String logInfo = String.format("Answers saved over websocket for gamePin: %d, roundNumber: %d.",
+                gamePin, roundNumber);
+        logger.info(logInfo);
+
+        return createAck("answers");
+    }
+
+    @MessageMapping("/games/{gamePin}/votings/{categoryName}")
+    @SendToUser(value = "/queue/acks", broadcast = false)
+    public AckDTO saveVote(@DestinationVariable("gamePin") int gamePin,
+                           @DestinationVariable("categoryName") String categoryName,
+                           @Payload Map<Integer, String> votings,
+                           SimpMessageHeaderAccessor headerAccessor) {
+
+        String userToken = getSessionUserToken(headerAccessor);
+        voteService.saveVote(gamePin, categoryName, userToken, votings);
+
+        return createAck("votings");
+    }
+
+    @MessageMapping("/games/{gamePin}/skip")
+    @SendToUser(value = "/queue/acks", broadcast = false)
+    public AckDTO skipRequest(@DestinationVariable("gamePin") int gamePin,
+                              SimpMessageHeaderAccessor headerAccessor) {
+
+        String userToken = getSessionUserToken(headerAccessor);
+        gameMailboxService.execute(gamePin, () -> roundService.skipRequest(gamePin, userToken));
+
+        return createAck("skip");
+    }
+
+    @MessageExceptionHandler(ResponseStatusException.class)
+    @SendToUser(value = "/queue/errors", broadcast = false)
+    public ErrorDTO handleResponseStatusException(ResponseStatusException exception) {
+        ErrorDTO errorDTO = new ErrorDTO();
+        errorDTO.setStatus(exception.getStatus().value());
+        errorDTO.setMessage(exception.getReason());
+        return errorDTO;
+    }
+
+    private static int getUserId(Principal principal) {
+        if (!(principal instanceof StompPrincipal)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                    "Please connect with a valid Authorization header first.");
+        }
+        return ((StompPrincipal) principal).getUserId();
+    }
+
+    private static String getSessionUserToken(SimpMessageHeaderAccessor headerAccessor) {
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        Object userToken = sessionAttributes == null ? null : sessionAttributes.get(Constant.SESSION_USER_TOKEN);
+
+        if (userToken == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                    "Please connect with a valid Authorization header first.");
+        }
+        return userToken.toString();
+    }
+
+    private static AckDTO createAck(String action) {
+        AckDTO ackDTO = new AckDTO();
+        ackDTO.setAction(action);
+        return ackDTO;
+    }
+}
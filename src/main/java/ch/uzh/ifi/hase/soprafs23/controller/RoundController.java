@@ -1,6 +1,7 @@
 package ch.uzh.ifi.hase.soprafs23.controller;
 
 import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.service.GameMailboxService;
 import ch.uzh.ifi.hase.soprafs23.service.RoundService;
 import ch.uzh.ifi.hase.soprafs23.service.WebSocketService;
 import ch.uzh.ifi.hase.soprafs23.websocketDto.RoundEndDTO;
@@ -13,12 +14,14 @@ import org.springframework.web.bind.annotation.*;
 public class RoundController {
 
     private final RoundService roundService;
+    private final GameMailboxService gameMailboxService;
 
 
     Logger logger = LoggerFactory.getLogger(RoundController.class);
 
-    RoundController(RoundService roundService) {
+    RoundController(RoundService roundService, GameMailboxService gameMailboxService) {
         this.roundService = roundService;
+        this.gameMailboxService = gameMailboxService;
     }
 
 
@@ -29,7 +32,8 @@ public class RoundController {
                          @RequestHeader("Authorization") String userToken) {
 
 
-        roundService.stopRound(gamePin, userToken, roundNumber);
+        // runs on the mailbox of the game, so it cannot race the round timer finishing the same round
+        gameMailboxService.execute(gamePin, () -> roundService.stopRound(gamePin, userToken, roundNumber));
 
         String logInfo1 = String.format(
                 "Round ended -> gamePin: %d, roundNumber: %d.",
@@ -43,7 +47,7 @@ public class RoundController {
     public void userSkipRequest(@RequestHeader("Authorization") String userToken,
                                 @PathVariable("gamePin") int gamePin) {
 
-        roundService.skipRequest(gamePin,userToken);
+        gameMailboxService.execute(gamePin, () -> roundService.skipRequest(gamePin, userToken));
         logger.info("Skip Request from " + userToken);
 
     }
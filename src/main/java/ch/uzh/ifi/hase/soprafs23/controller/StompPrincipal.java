@@ -0,0 +1,25 @@
+package ch.uzh.ifi.hase.soprafs23.controller;
+
+import java.security.Principal;
+
+/**
+ * The user a STOMP session was authenticated as when it connected.
+ */
+public class StompPrincipal implements Principal {
+    private final int userId;
+    private final String username;
+
+    public StompPrincipal(int userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
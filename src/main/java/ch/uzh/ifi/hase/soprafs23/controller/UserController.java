@@ -1,13 +1,22 @@
 package ch.uzh.ifi.hase.soprafs23.controller;
 
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.helper.JsonStreamHelper;
+import ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudget;
+import ch.uzh.ifi.hase.soprafs23.ratelimit.EndpointClass;
+import ch.uzh.ifi.hase.soprafs23.ratelimit.RateLimit;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.user.*;
 import ch.uzh.ifi.hase.soprafs23.rest.mapper.UserDTOMapper;
 import ch.uzh.ifi.hase.soprafs23.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
@@ -24,27 +33,75 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    UserController(UserService userService) {
+    UserController(UserService userService, ObjectMapper objectMapper) {
       this.userService = userService;
+      this.objectMapper = objectMapper;
     }
     Logger logger = LoggerFactory.getLogger(UserController.class);
 
     @GetMapping("/users")
+    @RateLimit(EndpointClass.EXPENSIVE)
+    @QueryBudget(1)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<UserGetDTO> getAllUsers() {
-        // fetch all users in the internal representation
-        List<User> users = userService.getUsers();
+        // fetch only the public profile columns of all users
+        List<UserView> users = userService.getUserViews();
         List<UserGetDTO> userGetDTOs = new ArrayList<>();
 
         // convert each user to the API representation
-        for (User user : users) {
-            userGetDTOs.add(UserDTOMapper.INSTANCE.convertEntityToUserGetDTO(user));
+        for (UserView user : users) {
+            userGetDTOs.add(UserDTOMapper.INSTANCE.convertUserViewToUserGetDTO(user));
         }
         return userGetDTOs;
     }
 
+    @GetMapping("/users/page")
+    @QueryBudget(1)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public UserPageGetDTO getUserPage(@RequestParam(value = "cursor", required = false) Integer cursor,
+                                      @RequestParam(value = "limit", defaultValue = "" + Constant.DEFAULT_PAGE_SIZE) int limit) {
+        // fetch the users following the cursor, ordered by id
+        List<UserView> users = userService.getUserViewPage(cursor, limit);
+        List<UserGetDTO> userGetDTOs = new ArrayList<>();
+
+        for (UserView user : users) {
+            userGetDTOs.add(UserDTOMapper.INSTANCE.convertUserViewToUserGetDTO(user));
+        }
+
+        // a full page means there might be more users after the last one
+        UserPageGetDTO userPageGetDTO = new UserPageGetDTO();
+        userPageGetDTO.setUsers(userGetDTOs);
+        if (users.size() == limit) {
+            userPageGetDTO.setNextCursor(users.get(limit - 1).getId());
+        }
+        return userPageGetDTO;
+    }
+
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @RateLimit(EndpointClass.EXPENSIVE)
+    @ResponseStatus(HttpStatus.OK)
+    public StreamingResponseBody streamAllUsers() {
+        // users are written to the response while they are read from the result set
+        return JsonStreamHelper.<UserGetDTO>streamJsonArray(objectMapper, consumer ->
+                userService.streamUserViews(user -> consumer.accept(UserDTOMapper.INSTANCE.convertUserViewToUserGetDTO(user))));
+    }
+
+    @GetMapping("/users/availability")
+    @QueryBudget(1)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public UsernameAvailabilityGetDTO checkUsernameAvailability(@RequestParam("username") String username) {
+        // a free username is usually answered by the in-memory filter without any query
+        UsernameAvailabilityGetDTO usernameAvailabilityGetDTO = new UsernameAvailabilityGetDTO();
+        usernameAvailabilityGetDTO.setUsername(username);
+        usernameAvailabilityGetDTO.setAvailable(userService.isUsernameAvailable(username));
+        return usernameAvailabilityGetDTO;
+    }
+
     @PostMapping("/users")
     @ResponseStatus(HttpStatus.CREATED)
     @ResponseBody
@@ -90,15 +147,16 @@ public class UserController {
     }
 
     @GetMapping("/users/{userId}")
+    @QueryBudget(1)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public UserGetDTO getUserByID(@PathVariable("userId") int userId){
 
-        // retrieve User entity using ID
-        User user = userService.getUserById(userId);
+        // retrieve the public profile columns using ID
+        UserView user = userService.getUserViewById(userId);
 
-        // convert User entity to UserDTO and return
-        return UserDTOMapper.INSTANCE.convertEntityToUserGetDTO(user);
+        // convert the projection to UserDTO and return
+        return UserDTOMapper.INSTANCE.convertUserViewToUserGetDTO(user);
     }
 
     @GetMapping("/users/username/{username}") // username because of test -> check
@@ -1,6 +1,10 @@
 package ch.uzh.ifi.hase.soprafs23.controller;
 
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
 import ch.uzh.ifi.hase.soprafs23.helper.VoteHelper;
+import ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudget;
+import ch.uzh.ifi.hase.soprafs23.repository.IdempotencyRepository;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundVotesGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteOptionsGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.VoteService;
@@ -20,17 +24,21 @@ public class VoteController {
     }
 
     @PostMapping("/games/{gamePin}/votings/{categoryName}")
+    @QueryBudget(20)
     @ResponseStatus(HttpStatus.CREATED)
     public void saveVote(@PathVariable("gamePin") int gamePin,
                          @PathVariable("categoryName") String categoryName,
                          @RequestHeader("Authorization") String userToken,
+                         @RequestHeader(value = Constant.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                          @RequestBody Map<Integer, String> votings){
 
-        voteService.saveVote(gamePin, categoryName, userToken, votings);
+        String key = IdempotencyRepository.createKey(userToken, gamePin + "/votings/" + categoryName, idempotencyKey);
+        IdempotencyRepository.runOnce(key, votings, () -> voteService.saveVote(gamePin, categoryName, userToken, votings));
 
     }
 
     @GetMapping("/games/{gamePin}/votings/{roundNumber}/{categoryName}")
+    @QueryBudget(30)
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<VoteGetDTO> getVotes(@PathVariable("gamePin") int gamePin,
@@ -42,6 +50,18 @@ public class VoteController {
 
     }
 
+    @GetMapping("/games/{gamePin}/rounds/{roundNumber}/votings")
+    @QueryBudget(10)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public RoundVotesGetDTO getRoundVotes(@PathVariable("gamePin") int gamePin,
+                                          @PathVariable("roundNumber") int roundNumber,
+                                          @RequestHeader("Authorization") String userToken){
+
+        return voteService.getRoundVotes(gamePin, roundNumber, userToken);
+
+    }
+
     @GetMapping("/voteOptions")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
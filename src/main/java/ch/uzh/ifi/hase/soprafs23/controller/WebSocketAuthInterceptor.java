@@ -0,0 +1,107 @@
+package ch.uzh.ifi.hase.soprafs23.controller;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.GameMembershipRepository;
+import ch.uzh.ifi.hase.soprafs23.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Authenticates a STOMP session once when the client connects.
+ * The token of the Authorization header is checked against the database a single time,
+ * the resulting principal is attached to the session and the token is kept in the
+ * session attributes. Subscriptions to a lobby topic are then authorized against the
+ * in-memory game membership, so no later frame touches the database.
+ */
+@Component
+public class WebSocketAuthInterceptor implements ChannelInterceptor {
+
+    private final UserService userService;
+
+    private final Logger logger = LoggerFactory.getLogger(WebSocketAuthInterceptor.class);
+
+    WebSocketAuthInterceptor(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            authenticate(accessor);
+        }
+        else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor);
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String userToken = accessor.getFirstNativeHeader(Constant.AUTHORIZATION_HEADER);
+
+        if (userToken == null) {
+            throw new MessagingException("Missing Authorization header");
+        }
+
+        User user;
+        try {
+            user = userService.getUserByToken(userToken);
+        }
+        catch (ResponseStatusException e) {
+            logger.info("Rejected websocket connection with an unknown token.");
+            throw new MessagingException("Invalid Authorization token");
+        }
+
+        accessor.setUser(new StompPrincipal(user.getId(), user.getUsername()));
+
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes != null) {
+            sessionAttributes.put(Constant.SESSION_USER_TOKEN, user.getToken());
+        }
+    }
+
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+
+        if (destination == null || !destination.startsWith(Constant.DEFAULT_DESTINATION)) {
+            return;
+        }
+
+        Principal principal = accessor.getUser();
+        if (!(principal instanceof StompPrincipal)) {
+            throw new MessagingException("Not authenticated");
+        }
+
+        int gamePin;
+        try {
+            gamePin = Integer.parseInt(destination.substring(Constant.DEFAULT_DESTINATION.length()));
+        }
+        catch (NumberFormatException e) {
+            throw new MessagingException("Unknown lobby: " + destination);
+        }
+
+        if (!GameMembershipRepository.isMember(gamePin, ((StompPrincipal) principal).getUserId())) {
+            String logInfo = String.format("User %s is not allowed to subscribe to lobby %d.",
+                    principal.getName(), gamePin);
+            logger.info(logInfo);
+            throw new MessagingException("User is not part of this game.");
+        }
+    }
+}
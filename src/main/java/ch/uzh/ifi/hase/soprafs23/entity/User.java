@@ -2,6 +2,8 @@ package ch.uzh.ifi.hase.soprafs23.entity;
 
 import ch.uzh.ifi.hase.soprafs23.entity.game.GameParticipant;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -20,6 +22,7 @@ import java.util.Objects;
  * the primary key
  */
 @Entity
+@DynamicUpdate
 @Table(name = "USER")
 public class User implements Serializable {
 
@@ -3,6 +3,8 @@ package ch.uzh.ifi.hase.soprafs23.entity.game;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 
 import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "ANSWER")
@@ -27,6 +29,22 @@ public class Answer {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    @OneToMany(mappedBy = "answer")
+    private List<Vote> votes = new ArrayList<>();
+
+    /** vote tallies, only ever incremented in SQL by AnswerRepository.incrementVoteCounter */
+    @Column(name = "correct_unique_votes", nullable = false, insertable = false, updatable = false)
+    private int correctUniqueVotes;
+
+    @Column(name = "correct_not_unique_votes", nullable = false, insertable = false, updatable = false)
+    private int correctNotUniqueVotes;
+
+    @Column(name = "wrong_votes", nullable = false, insertable = false, updatable = false)
+    private int wrongVotes;
+
+    @Column(name = "no_votes", nullable = false, insertable = false, updatable = false)
+    private int noVotes;
+
 
     public int getAnswerId() {
         return id;
@@ -64,4 +82,24 @@ public class Answer {
         this.category = category;
     }
 
+    public List<Vote> getVotes() {
+        return votes;
+    }
+
+    public int getCorrectUniqueVotes() {
+        return correctUniqueVotes;
+    }
+
+    public int getCorrectNotUniqueVotes() {
+        return correctNotUniqueVotes;
+    }
+
+    public int getWrongVotes() {
+        return wrongVotes;
+    }
+
+    public int getNoVotes() {
+        return noVotes;
+    }
+
 }
@@ -0,0 +1,66 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Answers of one player for one round that are kept in memory while the round runs.
+ * A draft is an autosave that may still be replaced, a submission is final.
+ */
+public class BufferedAnswers {
+    private int gamePin;
+    private int roundNumber;
+    private int userId;
+    private boolean draft;
+    private Map<String, String> answers = new HashMap<>();
+
+    public BufferedAnswers() {}
+
+    public BufferedAnswers(int gamePin, int roundNumber, int userId, boolean draft, Map<String, String> answers) {
+        this.gamePin = gamePin;
+        this.roundNumber = roundNumber;
+        this.userId = userId;
+        this.draft = draft;
+        this.answers = new HashMap<>(answers);
+    }
+
+    public int getGamePin() {
+        return gamePin;
+    }
+
+    public void setGamePin(int gamePin) {
+        this.gamePin = gamePin;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public void setRoundNumber(int roundNumber) {
+        this.roundNumber = roundNumber;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public boolean isDraft() {
+        return draft;
+    }
+
+    public void setDraft(boolean draft) {
+        this.draft = draft;
+    }
+
+    public Map<String, String> getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(Map<String, String> answers) {
+        this.answers = answers;
+    }
+}
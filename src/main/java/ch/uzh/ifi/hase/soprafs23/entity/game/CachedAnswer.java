@@ -0,0 +1,45 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+/**
+ * Detached copy of the fields of an answer that are shown during voting.
+ * It can be shared between requests without touching lazy entity state.
+ */
+public class CachedAnswer {
+    private final int answerId;
+    private final int userId;
+    private final String answerString;
+    private final boolean duplicate;
+    private final boolean obviouslyWrong;
+
+    /**
+     * @param duplicate whether another answer of the round and category is the same after normalization
+     * @param obviouslyWrong whether the gazetteer rejects the answer
+     */
+    public CachedAnswer(Answer answer, boolean duplicate, boolean obviouslyWrong) {
+        this.answerId = answer.getAnswerId();
+        this.userId = answer.getUser().getId();
+        this.answerString = answer.getAnswerString();
+        this.duplicate = duplicate;
+        this.obviouslyWrong = obviouslyWrong;
+    }
+
+    public int getAnswerId() {
+        return answerId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getAnswerString() {
+        return answerString;
+    }
+
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+
+    public boolean isObviouslyWrong() {
+        return obviouslyWrong;
+    }
+}
@@ -1,5 +1,6 @@
 package ch.uzh.ifi.hase.soprafs23.entity.game;
 
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
 import ch.uzh.ifi.hase.soprafs23.constant.ParticipantStatus;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
 import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
@@ -8,17 +9,29 @@ import ch.uzh.ifi.hase.soprafs23.entity.User;
 import javax.persistence.*;
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "GAME")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Game.WITH_PARTICIPANTS,
+                attributeNodes = @NamedAttributeNode(value = "gameParticipants", subgraph = "participantUser"),
+                subgraphs = @NamedSubgraph(name = "participantUser", attributeNodes = @NamedAttributeNode("user"))),
+        @NamedEntityGraph(name = Game.WITH_CATEGORIES,
+                attributeNodes = @NamedAttributeNode("categories"))
+})
 public class Game implements Serializable {
 
     @Serial
     private static final int serialVersionUID = 1;
 
+    /** fetch plans for the repository, participants and categories are both bags and cannot share one */
+    public static final String WITH_PARTICIPANTS = "Game.withParticipants";
+    public static final String WITH_CATEGORIES = "Game.withCategories";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "game_id")
@@ -44,6 +57,21 @@ public class Game implements Serializable {
 
     private int currentRound;
 
+    /** lobbies above Constant.MAX_ALLOWED_OF_PLAYERS are large lobbies, their tallies are read from the answer counters */
+    @Column(nullable = false)
+    private int maxPlayers = Constant.MAX_ALLOWED_OF_PLAYERS;
+
+    /** in large lobbies every answer is judged by this many random peers, 0 lets every player judge every answer */
+    @Column(nullable = false)
+    private int votesPerAnswer;
+
+    private LocalDateTime closedAt;
+
+    /** concurrent changes of the same game fail on flush instead of overwriting each other */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @ElementCollection
     @OrderColumn
     private List<Character> roundLetters;
@@ -109,8 +137,44 @@ public class Game implements Serializable {
         return status;
     }
 
+    /** closing a game stamps the time the archive job measures its grace period from */
     public void setStatus(GameStatus status) {
         this.status = status;
+        if (status == GameStatus.CLOSED && closedAt == null) {
+            closedAt = LocalDateTime.now();
+        }
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public void setMaxPlayers(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+    }
+
+    public int getVotesPerAnswer() {
+        return votesPerAnswer;
+    }
+
+    public void setVotesPerAnswer(int votesPerAnswer) {
+        this.votesPerAnswer = votesPerAnswer;
+    }
+
+    public boolean isLargeLobby() {
+        return maxPlayers > Constant.MAX_ALLOWED_OF_PLAYERS;
+    }
+
+    public boolean hasSampledVoting() {
+        return isLargeLobby() && votesPerAnswer > 0;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public long getVersion() {
+        return version;
     }
 
     public List<Character> getRoundLetters() {
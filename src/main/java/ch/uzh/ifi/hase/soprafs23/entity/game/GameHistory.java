@@ -0,0 +1,105 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archived representation of a closed game. The rounds with their answers and votes are kept
+ * as one serialized JSON document, only the final scores stay queryable per user.
+ */
+@Entity
+@Table(name = "GAME_HISTORY")
+public class GameHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "game_history_id")
+    private int id;
+
+    @Column(nullable = false)
+    private int gamePin;
+
+    @Column(nullable = false)
+    private int hostId;
+
+    @Column(nullable = false)
+    private int roundAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime closedAt;
+
+    /** JSON array of the category names */
+    @Column(nullable = false, length = 2048)
+    private String categoryNames;
+
+    /** JSON array of the rounds with their answers and votes */
+    @Lob
+    @Column(nullable = false)
+    private String rounds;
+
+    @OneToMany(mappedBy = "gameHistory", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<GameHistoryScore> scores = new ArrayList<>();
+
+    public int getId() {
+        return id;
+    }
+
+    public int getGamePin() {
+        return gamePin;
+    }
+
+    public void setGamePin(int gamePin) {
+        this.gamePin = gamePin;
+    }
+
+    public int getHostId() {
+        return hostId;
+    }
+
+    public void setHostId(int hostId) {
+        this.hostId = hostId;
+    }
+
+    public int getRoundAmount() {
+        return roundAmount;
+    }
+
+    public void setRoundAmount(int roundAmount) {
+        this.roundAmount = roundAmount;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public String getCategoryNames() {
+        return categoryNames;
+    }
+
+    public void setCategoryNames(String categoryNames) {
+        this.categoryNames = categoryNames;
+    }
+
+    public String getRounds() {
+        return rounds;
+    }
+
+    public void setRounds(String rounds) {
+        this.rounds = rounds;
+    }
+
+    public List<GameHistoryScore> getScores() {
+        return scores;
+    }
+
+    public void addScore(GameHistoryScore score) {
+        score.setGameHistory(this);
+        scores.add(score);
+    }
+}
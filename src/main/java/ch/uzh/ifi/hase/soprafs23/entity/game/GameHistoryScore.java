@@ -0,0 +1,91 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameResult;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+
+import javax.persistence.*;
+
+/**
+ * Final score of one participant of an archived game.
+ */
+@Entity
+@Table(name = "GAME_HISTORY_SCORE")
+public class GameHistoryScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "game_history_score_id")
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_history_id", nullable = false)
+    private GameHistory gameHistory;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(nullable = false)
+    private int answerCount;
+
+    @Column(nullable = false)
+    private int correctUniqueAnswerCount;
+
+    /** null for participants without answers, like the live statistics treated them */
+    private GameResult result;
+
+    public int getId() {
+        return id;
+    }
+
+    public GameHistory getGameHistory() {
+        return gameHistory;
+    }
+
+    public void setGameHistory(GameHistory gameHistory) {
+        this.gameHistory = gameHistory;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    public void setAnswerCount(int answerCount) {
+        this.answerCount = answerCount;
+    }
+
+    public int getCorrectUniqueAnswerCount() {
+        return correctUniqueAnswerCount;
+    }
+
+    public void setCorrectUniqueAnswerCount(int correctUniqueAnswerCount) {
+        this.correctUniqueAnswerCount = correctUniqueAnswerCount;
+    }
+
+    public GameResult getResult() {
+        return result;
+    }
+
+    public void setResult(GameResult result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,85 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the state mutations of one game one after the other on a shared executor.
+ * At most one task of a mailbox is running at any time, so the tasks never race each other,
+ * while the threads of the executor are shared by all games.
+ */
+public class GameMailbox implements Executor {
+
+    private static final Logger log = LoggerFactory.getLogger(GameMailbox.class);
+    private static final ThreadLocal<GameMailbox> currentMailbox = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean draining = false;
+
+    public GameMailbox(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @throws RejectedExecutionException if the shared executor cannot take the mailbox anymore
+     */
+    @Override
+    public synchronized void execute(Runnable task) {
+        tasks.add(task);
+        if (!draining) {
+            try {
+                executor.execute(this::drain);
+                draining = true;
+            }
+            catch (RejectedExecutionException e) {
+                tasks.remove(task);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A task that is already running on this mailbox must not wait for the mailbox,
+     * it would wait for itself.
+     */
+    public boolean isCurrentThread() {
+        return currentMailbox.get() == this;
+    }
+
+    public synchronized int getPendingTasks() {
+        return tasks.size();
+    }
+
+    private void drain() {
+        currentMailbox.set(this);
+        try {
+            Runnable task;
+            while ((task = nextTask()) != null) {
+                try {
+                    task.run();
+                }
+                catch (RuntimeException e) {
+                    // a failing task must not stop the tasks queued after it
+                    log.warn("A task of a game mailbox failed.", e);
+                }
+            }
+        }
+        finally {
+            currentMailbox.remove();
+        }
+    }
+
+    private synchronized Runnable nextTask() {
+        Runnable task = tasks.poll();
+        if (task == null) {
+            draining = false;
+        }
+        return task;
+    }
+}
@@ -0,0 +1,79 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import ch.uzh.ifi.hase.soprafs23.websocketDto.SequencedMessageDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring buffer holding the most recent lobby broadcasts and personal messages of one game.
+ * Every appended message gets the next sequence number, so a reconnecting
+ * client can ask for everything after the last sequence it has seen.
+ * A personal message is only replayed to its recipient, the others skip its sequence.
+ */
+public class MessageLog {
+    private final SequencedMessageDTO[] buffer;
+    private final String[] recipients;
+    private long lastSequence = 0;
+
+    public MessageLog(int capacity) {
+        this.buffer = new SequencedMessageDTO[capacity];
+        this.recipients = new String[capacity];
+    }
+
+    public synchronized long append(Object payload) {
+        return append(payload, null);
+    }
+
+    /**
+     * @param recipient the username of the recipient of a personal message, null for a broadcast
+     */
+    public synchronized long append(Object payload, String recipient) {
+        lastSequence++;
+        SequencedMessageDTO sequencedMessage = new SequencedMessageDTO();
+        sequencedMessage.setSequence(lastSequence);
+        sequencedMessage.setPayload(payload);
+        buffer[slotOf(lastSequence)] = sequencedMessage;
+        recipients[slotOf(lastSequence)] = recipient;
+        return lastSequence;
+    }
+
+    public synchronized List<SequencedMessageDTO> getMessagesAfter(long sequence) {
+        return getMessagesAfter(sequence, null);
+    }
+
+    /**
+     * Returns the broadcasts and the personal messages of the recipient after the sequence.
+     */
+    public synchronized List<SequencedMessageDTO> getMessagesAfter(long sequence, String recipient) {
+        long from = Math.max(sequence + 1, getOldestSequence());
+        List<SequencedMessageDTO> messages = new ArrayList<>();
+        for (long current = from; current <= lastSequence; current++) {
+            String messageRecipient = recipients[slotOf(current)];
+            if (messageRecipient == null || messageRecipient.equals(recipient)) {
+                messages.add(buffer[slotOf(current)]);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * A replay is only complete if nothing after the given sequence
+     * has already been overwritten in the buffer.
+     */
+    public synchronized boolean canReplayAfter(long sequence) {
+        return sequence + 1 >= getOldestSequence();
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    private long getOldestSequence() {
+        return Math.max(1, lastSequence - buffer.length + 1);
+    }
+
+    private int slotOf(long sequence) {
+        return (int) (sequence % buffer.length);
+    }
+}
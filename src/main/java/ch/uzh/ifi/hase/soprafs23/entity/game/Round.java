@@ -29,6 +29,10 @@ public class Round implements Serializable {
     @Column(nullable = false)
     private Character letter;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public int getRoundId() {
         return roundId;
     }
@@ -65,5 +69,7 @@ public class Round implements Serializable {
         this.letter = letter;
     }
 
+    public long getVersion() {
+        return version;
+    }
 }
-
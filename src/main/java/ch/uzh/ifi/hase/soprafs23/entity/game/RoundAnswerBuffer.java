@@ -0,0 +1,52 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers of all players of a running round, one entry per player.
+ * The buffer is closed when the round ends and its answers are written to the database;
+ * afterwards it no longer accepts answers and the players answer the old way.
+ * Like the rest of the game state the buffer only lives in memory.
+ */
+public class RoundAnswerBuffer {
+    private final Map<Integer, BufferedAnswers> answersByUserId = new LinkedHashMap<>();
+    private boolean closed = false;
+
+    public enum Offer {
+        ACCEPTED,
+        /** the round has ended and the player has nothing in the buffer */
+        CLOSED,
+        /** the player has already submitted, or the draft is being written as the answers of the player */
+        ALREADY_SUBMITTED
+    }
+
+    public synchronized Offer offer(BufferedAnswers answers) {
+        BufferedAnswers existingAnswers = answersByUserId.get(answers.getUserId());
+
+        if (existingAnswers != null && (!existingAnswers.isDraft() || closed)) {
+            return Offer.ALREADY_SUBMITTED;
+        }
+        if (closed) {
+            return Offer.CLOSED;
+        }
+
+        answersByUserId.put(answers.getUserId(), answers);
+        return Offer.ACCEPTED;
+    }
+
+    public synchronized List<BufferedAnswers> close() {
+        closed = true;
+        return new ArrayList<>(answersByUserId.values());
+    }
+
+    public synchronized void reopen() {
+        closed = false;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
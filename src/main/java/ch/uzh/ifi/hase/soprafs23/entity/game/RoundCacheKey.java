@@ -0,0 +1,45 @@
+package ch.uzh.ifi.hase.soprafs23.entity.game;
+
+import java.util.Objects;
+
+public class RoundCacheKey {
+    private final int gamePin;
+    private final int roundNumber;
+    private final String categoryName;
+
+    public RoundCacheKey(int gamePin, int roundNumber, String categoryName) {
+        this.gamePin = gamePin;
+        this.roundNumber = roundNumber;
+        this.categoryName = categoryName;
+    }
+
+    public int getGamePin() {
+        return gamePin;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        RoundCacheKey key = (RoundCacheKey) obj;
+        return gamePin == key.gamePin && roundNumber == key.roundNumber
+                && Objects.equals(categoryName, key.categoryName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(gamePin, roundNumber, categoryName);
+    }
+}
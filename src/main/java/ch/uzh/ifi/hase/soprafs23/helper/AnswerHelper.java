@@ -1,18 +1,28 @@
 package ch.uzh.ifi.hase.soprafs23.helper;
 
 import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.constant.VoteOption;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Answer;
+import ch.uzh.ifi.hase.soprafs23.entity.game.CachedAnswer;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 public class AnswerHelper {
 
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[\\p{P}\\p{S}\\p{Z}\\s]+");
+
     private AnswerHelper() {}
 
     public static void checkIfAnswerExists(Answer answer) {
@@ -40,6 +50,85 @@ public class AnswerHelper {
     }
 
 
+    public static List<Map<Integer, String>> filterCachedAnswersByDeletingUser(List<CachedAnswer> answers, User user) {
+
+        List<Map<Integer, String>> filteredAnswers = new ArrayList<>();
+
+        for (CachedAnswer answer : answers) {
+            if (answer.getUserId() != user.getId()) {
+                Map<Integer, String> answerTuple = new HashMap<>();
+                answerTuple.put(answer.getAnswerId(), answer.getAnswerString());
+                filteredAnswers.add(answerTuple);
+            }
+        }
+        return filteredAnswers;
+    }
+
+    /**
+     * Folds the spellings of an answer that players would judge as the same answer, e.g. "ZURICH",
+     * " zurich! " and Zurich with an umlaut all become "zurich". Compatibility characters are folded with NFKC,
+     * accents and case are stripped and punctuation and whitespace collapse to single spaces.
+     */
+    public static String normalizeAnswer(String answer) {
+        String folded = Normalizer.normalize(answer, Normalizer.Form.NFKC);
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        String lowerCase = withoutAccents.toLowerCase(Locale.ROOT).replace("\u00DF", "ss");
+        return SEPARATORS.matcher(lowerCase).replaceAll(" ").trim();
+    }
+
+    /**
+     * Flags every answer whose normalized form is shared with another answer of the list, in one pass
+     * over a hash table of the normalized answers. Answers that normalize to nothing, like "-", are never flagged.
+     *
+     * @return the flags in the order of the answers
+     */
+    public static boolean[] findDuplicates(List<String> answerStrings) {
+        boolean[] duplicates = new boolean[answerStrings.size()];
+        Map<String, Integer> firstIndexes = new HashMap<>();
+
+        for (int i = 0; i < answerStrings.size(); i++) {
+            String normalizedAnswer = normalizeAnswer(answerStrings.get(i));
+            if (normalizedAnswer.isEmpty()) {
+                continue;
+            }
+
+            Integer firstIndex = firstIndexes.putIfAbsent(normalizedAnswer, i);
+            if (firstIndex != null) {
+                duplicates[firstIndex] = true;
+                duplicates[i] = true;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Suggests WRONG for the answers rejected by the gazetteer, CORRECT_NOT_UNIQUE for the duplicated answers
+     * among the answers to judge and CORRECT_UNIQUE for the others. Empty answers get no suggestion,
+     * they are always counted as WRONG.
+     */
+    public static Map<Integer, String> getUniquenessSuggestions(List<CachedAnswer> answers,
+                                                                List<Map<Integer, String>> answersToJudge) {
+        Set<Integer> answerIdsToJudge = new HashSet<>();
+        for (Map<Integer, String> answerTuple : answersToJudge) {
+            answerIdsToJudge.addAll(answerTuple.keySet());
+        }
+
+        Map<Integer, String> suggestions = new HashMap<>();
+        for (CachedAnswer answer : answers) {
+            if (answerIdsToJudge.contains(answer.getAnswerId()) && !answer.getAnswerString().equals("-")) {
+                suggestions.put(answer.getAnswerId(), getSuggestion(answer).name());
+            }
+        }
+        return suggestions;
+    }
+
+    private static VoteOption getSuggestion(CachedAnswer answer) {
+        if (answer.isObviouslyWrong()) {
+            return VoteOption.WRONG;
+        }
+        return answer.isDuplicate() ? VoteOption.CORRECT_NOT_UNIQUE : VoteOption.CORRECT_UNIQUE;
+    }
+
     public static boolean isAnswerTooLong(String answer) {
         return answer.length()> Constant.ANSWER_MAX_LENGTH;
     }
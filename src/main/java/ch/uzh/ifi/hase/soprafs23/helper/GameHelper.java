@@ -6,6 +6,7 @@ import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.repository.*;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameCategoriesDTO;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -20,6 +21,26 @@ public class GameHelper {
 
     private GameHelper() {}
 
+    /**
+     * Drops the in-memory state of a closed game once the closing transaction has committed.
+     * Every path that closes a game calls this, so none of the repositories keeps a closed game.
+     * The timers of the game are shut down with it and its mailbox takes no more ticks.
+     */
+    public static void releaseGameState(int gamePin) {
+        TransactionHelper.runAfterCommit(() -> {
+            SkipRepository.removeSkipManager(gamePin);
+            MessageLogRepository.removeMessageLog(gamePin);
+            GameMembershipRepository.removeGame(gamePin);
+            RoundCacheRepository.removeGame(gamePin);
+            AnswerBufferRepository.removeGame(gamePin);
+            PhaseProgressRepository.removeGame(gamePin);
+            GameActivityRepository.removeGame(gamePin);
+            IdempotencyRepository.removeGame(gamePin);
+            GameTimerRepository.removeGame(gamePin);
+            GameMailboxRepository.removeGame(gamePin);
+        });
+    }
+
     public static void checkIfGameExists(Game game) {
 
         String errorMessage = "Game does not exist. Please try again with a different game!";
@@ -29,6 +50,15 @@ public class GameHelper {
         }
     }
 
+    public static void checkIfGameViewExists(Object gameView) {
+
+        String errorMessage = "Game does not exist. Please try again with a different game!";
+
+        if (gameView == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, errorMessage);
+        }
+    }
+
     public static void checkIfGameIsOpen(Game game) {
 
         String errorMessage = "Game is not open. Please try again with a different pin!";
@@ -65,6 +95,23 @@ public class GameHelper {
         }
     }
 
+    public static void checkIfLobbySizeIsValid(Game game){
+        if (game.getMaxPlayers() < 2 || game.getMaxPlayers() > Constant.MAX_ALLOWED_OF_PLAYERS_LARGE_LOBBY) {
+            String errorMessage = String.format("You're game must allow between 2 and %d players",
+                    Constant.MAX_ALLOWED_OF_PLAYERS_LARGE_LOBBY);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, errorMessage);
+        }
+        if (game.getVotesPerAnswer() < 0 || game.getVotesPerAnswer() >= game.getMaxPlayers()) {
+            String errorMessage = "The votes per answer must be between 0 and one less than the players allowed";
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, errorMessage);
+        }
+        if (game.getVotesPerAnswer() > 0 && !game.isLargeLobby()) {
+            String errorMessage = String.format("Only games with more than %d players can set the votes per answer",
+                    Constant.MAX_ALLOWED_OF_PLAYERS);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, errorMessage);
+        }
+    }
+
     public static void checkCategoryNames(Game game){
         List<Category> gameCategories = game.getCategories();
         for (Category category: gameCategories) {
@@ -87,7 +134,7 @@ public class GameHelper {
 
     public static void checkIfGameIsFull(Game game) {
         int numberOfPlayersInLobby = game.getActiveUsers().size();
-        if (Constant.MAX_NUMBER_OF_CATEGORIES <= numberOfPlayersInLobby){
+        if (game.getMaxPlayers() <= numberOfPlayersInLobby){
             throw new ResponseStatusException(HttpStatus.CONFLICT, "The lobby is full no more players can join");
         }
     }
@@ -128,6 +175,15 @@ public class GameHelper {
         return gameCategoryNames;
     }
 
+    public static Category getCategoryByIndex(Game game, int categoryIndex) {
+        List<Category> gameCategories = game.getCategories();
+
+        if (categoryIndex < 0 || categoryIndex >= gameCategories.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "This category does not exist.");
+        }
+        return gameCategories.get(categoryIndex);
+    }
+
      public static List<Integer> getGameUsersId(Game game) {
         List<Integer> usersId = new ArrayList<>();
         for (User user : game.getActiveUsers()) {
@@ -0,0 +1,37 @@
+package ch.uzh.ifi.hase.soprafs23.helper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+public class JsonStreamHelper {
+
+    private JsonStreamHelper() {}
+
+    /**
+     * Writes the elements handed to the consumer as one JSON array, element by element,
+     * so the response never has to be held in memory as a whole.
+     */
+    public static <T> StreamingResponseBody streamJsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartArray();
+            producer.accept(element -> {
+                try {
+                    generator.writeObject(element);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.close();
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package ch.uzh.ifi.hase.soprafs23.helper;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class PaginationHelper {
+
+    private static final String LEADERBOARD_CURSOR_SEPARATOR = ":";
+
+    private PaginationHelper() {}
+
+    public static void checkIfPageLimitValid(int limit) {
+
+        String errorMessage = "The page limit has to be between 1 and %d.";
+
+        if (limit < 1 || limit > Constant.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format(errorMessage, Constant.MAX_PAGE_SIZE));
+        }
+    }
+
+    /**
+     * A leaderboard cursor is the score and the user id of the last entry of a page,
+     * since the leaderboard is ordered by score and ties are broken by the user id.
+     */
+    public static String createLeaderboardCursor(int accumulatedScore, int userId) {
+        return accumulatedScore + LEADERBOARD_CURSOR_SEPARATOR + userId;
+    }
+
+    public static int[] parseLeaderboardCursor(String cursor) {
+
+        String errorMessage = "The cursor %s is not a valid leaderboard cursor.";
+
+        String[] parts = cursor.split(LEADERBOARD_CURSOR_SEPARATOR);
+        try {
+            if (parts.length == 2) {
+                return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+            }
+        }
+        catch (NumberFormatException e) {
+            // handled below like a cursor with the wrong number of parts
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format(errorMessage, cursor));
+    }
+}
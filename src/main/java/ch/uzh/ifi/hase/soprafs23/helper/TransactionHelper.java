@@ -0,0 +1,27 @@
+package ch.uzh.ifi.hase.soprafs23.helper;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionHelper {
+
+    private TransactionHelper() {}
+
+    /**
+     * Runs the action once the current transaction has committed, or right away without a transaction.
+     * A rolled back or retried transaction never runs its actions, so the in-memory state and the
+     * messages of the lobby only ever follow committed changes.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package ch.uzh.ifi.hase.soprafs23.helper;
 
 import ch.uzh.ifi.hase.soprafs23.constant.Constant;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -19,6 +20,17 @@ public class UserHelper {
                     String.format(errorMessage));
         }
     }
+
+    public static void checkIfUserViewExists(UserView user) {
+
+        String errorMessage = "User does not exist. " +
+                "Please register before playing!";
+
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format(errorMessage));
+        }
+    }
     public static void checkIfQuoteValid(String quote){
         if (quote ==null || quote.strip().length() == 0)
             {
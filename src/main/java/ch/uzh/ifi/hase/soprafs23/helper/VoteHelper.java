@@ -7,7 +7,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class VoteHelper {
 
@@ -34,4 +40,30 @@ public class VoteHelper {
 
         return voteOptionsGetDTO;
     }
+
+    /**
+     * Sampled voting of large lobbies: the authors of a category are shuffled in an order seeded by the game,
+     * round and category, and every author judges the answers of the votesPerAnswer authors before them.
+     * So every answer gets the same number of judges, every judge the same number of answers, and
+     * every server and request computes the same assignment without storing it.
+     *
+     * @return the ids of the authors whose answers the judge votes on, empty if the judge has no answer
+     */
+    public static Set<Integer> getAuthorsToJudge(Set<Integer> authorIds, int judgeId, int votesPerAnswer,
+                                                 int gamePin, int roundNumber, String categoryName) {
+        List<Integer> order = new ArrayList<>(new TreeSet<>(authorIds));
+        Collections.shuffle(order, new Random(Objects.hash(gamePin, roundNumber, categoryName)));
+
+        int judgePosition = order.indexOf(judgeId);
+        if (judgePosition < 0) {
+            return Set.of();
+        }
+
+        int numberOfAnswers = Math.min(votesPerAnswer, order.size() - 1);
+        Set<Integer> authorsToJudge = new HashSet<>();
+        for (int offset = 1; offset <= numberOfAnswers; offset++) {
+            authorsToJudge.add(order.get(Math.floorMod(judgePosition - offset, order.size())));
+        }
+        return authorsToJudge;
+    }
 }
@@ -0,0 +1,21 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MonitoringConfig implements WebMvcConfigurer {
+
+    private final boolean enforceQueryBudgets;
+
+    public MonitoringConfig(@Value("${query-budget.enforce:false}") boolean enforceQueryBudgets) {
+        this.enforceQueryBudgets = enforceQueryBudgets;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(enforceQueryBudgets));
+    }
+}
@@ -0,0 +1,21 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements an endpoint may execute per request. Budgets are sized for
+ * the lobbies of up to four players and four categories used in the service integration tests,
+ * which fail when an endpoint exceeds its budget. At runtime, requests over budget are logged,
+ * with query-budget.enforce set, as in the tests, they fail. Raising a budget is a change of its own,
+ * not part of a feature.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+
+}
@@ -0,0 +1,75 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * Records the statements of every request to an endpoint annotated with {@link QueryBudget}
+ * and logs a warning when the request exceeded the budget. With enforcing turned on, as in the tests,
+ * a request over budget fails instead.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final boolean enforce;
+
+    public QueryBudgetInterceptor(boolean enforce) {
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (getQueryBudget(handler) != null) {
+            QueryCountInspector.startRecording();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response,
+                           Object handler, ModelAndView modelAndView) {
+        QueryBudget queryBudget = getQueryBudget(handler);
+        if (!enforce || queryBudget == null) {
+            return;
+        }
+
+        List<String> statements = QueryCountInspector.stopRecording();
+        if (statements.size() > queryBudget.value()) {
+            throw new IllegalStateException(createMessage(request, statements, queryBudget));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        QueryBudget queryBudget = getQueryBudget(handler);
+        if (queryBudget == null) {
+            return;
+        }
+
+        List<String> statements = QueryCountInspector.stopRecording();
+        if (statements.size() > queryBudget.value()) {
+            logger.warn(createMessage(request, statements, queryBudget));
+        }
+    }
+
+    private static String createMessage(HttpServletRequest request, List<String> statements, QueryBudget queryBudget) {
+        return String.format("%s %s executed %d SQL statements, budget is %d.",
+                request.getMethod(), request.getRequestURI(), statements.size(), queryBudget.value());
+    }
+
+    private static QueryBudget getQueryBudget(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            return ((HandlerMethod) handler).getMethodAnnotation(QueryBudget.class);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate statement inspector that records every SQL statement prepared on the current thread
+ * while a recording is active. It is registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector and does nothing otherwise.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> recordedStatements = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = recordedStatements.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void startRecording() {
+        recordedStatements.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /**
+     * Wraps an action that is handed to another thread and waited for, so the statements it executes
+     * there are recorded with the statements of the current thread.
+     */
+    public static <T> Supplier<T> continueRecording(Supplier<T> action) {
+        List<String> statements = recordedStatements.get();
+        if (statements == null) {
+            return action;
+        }
+        return () -> {
+            List<String> previousStatements = recordedStatements.get();
+            recordedStatements.set(statements);
+            try {
+                return action.get();
+            }
+            finally {
+                if (previousStatements == null) {
+                    recordedStatements.remove();
+                }
+                else {
+                    recordedStatements.set(previousStatements);
+                }
+            }
+        };
+    }
+
+    public static List<String> stopRecording() {
+        List<String> statements = recordedStatements.get();
+        recordedStatements.remove();
+        return statements == null ? Collections.emptyList() : statements;
+    }
+
+    public static boolean isRecording() {
+        return recordedStatements.get() != null;
+    }
+}
@@ -0,0 +1,61 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import ch.uzh.ifi.hase.soprafs23.repository.GameTimerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Refuses the endpoints annotated with {@link AdmissionControlled} while too many game timers
+ * are running or the heap is fuller than the threshold, so running games keep their resources
+ * instead of new games degrading all of them.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private final Logger logger = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+    private final int maxActiveTimers;
+    private final double maxHeapUsage;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlInterceptor(int maxActiveTimers, double maxHeapUsage, long retryAfterSeconds) {
+        this.maxActiveTimers = maxActiveTimers;
+        this.maxHeapUsage = maxHeapUsage;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)
+                || !((HandlerMethod) handler).hasMethodAnnotation(AdmissionControlled.class)) {
+            return true;
+        }
+
+        int activeTimers = GameTimerRepository.countActiveTimers();
+        double heapUsage = getHeapUsage();
+        if (activeTimers < maxActiveTimers && heapUsage < maxHeapUsage) {
+            return true;
+        }
+
+        logger.warn(String.format("Refused %s %s, %d active timers and %.0f%% heap usage.",
+                request.getMethod(), request.getRequestURI(), activeTimers, heapUsage * 100));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "The server is at capacity, please try again later.");
+        return false;
+    }
+
+    private static double getHeapUsage() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        return (double) heap.getUsed() / max;
+    }
+}
@@ -0,0 +1,15 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Endpoint that starts new load, like creating a game, and is refused with 503
+ * while the server is over one of the thresholds of the AdmissionControlInterceptor.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+}
@@ -0,0 +1,10 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+/**
+ * Groups of endpoints sharing one token bucket per client.
+ * EXPENSIVE is for the endpoints that aggregate over whole tables.
+ */
+public enum EndpointClass {
+    DEFAULT,
+    EXPENSIVE
+}
@@ -0,0 +1,18 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Endpoint class whose token bucket a request to the endpoint takes from,
+ * endpoints without the annotation take from the DEFAULT bucket.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    EndpointClass value();
+
+}
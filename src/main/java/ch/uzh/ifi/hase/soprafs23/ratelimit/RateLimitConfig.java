@@ -0,0 +1,43 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    private final ObjectProvider<UserRepository> userRepository;
+
+    RateLimitConfig(@Value("${rate-limit.default.capacity:30}") double defaultCapacity,
+                    @Value("${rate-limit.default.refill-per-second:10}") double defaultRefillPerSecond,
+                    @Value("${rate-limit.expensive.capacity:10}") double expensiveCapacity,
+                    @Value("${rate-limit.expensive.refill-per-second:1}") double expensiveRefillPerSecond,
+                    @Value("${rate-limit.max-buckets:100000}") int maxBuckets,
+                    @Value("${admission.max-active-timers:500}") int maxActiveTimers,
+                    @Value("${admission.max-heap-usage:0.9}") double maxHeapUsage,
+                    @Value("${admission.retry-after-seconds:30}") long retryAfterSeconds,
+                    ObjectProvider<UserRepository> userRepository) {
+        this.rateLimiter = new RateLimiter(Map.of(
+                EndpointClass.DEFAULT, new RateLimiter.Limit(defaultCapacity, defaultRefillPerSecond),
+                EndpointClass.EXPENSIVE, new RateLimiter.Limit(expensiveCapacity, expensiveRefillPerSecond)),
+                maxBuckets);
+        this.admissionControlInterceptor = new AdmissionControlInterceptor(maxActiveTimers, maxHeapUsage, retryAfterSeconds);
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // runs first, so the lookup of the token is not counted in the query budget of the endpoint
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, userRepository)).order(Ordered.HIGHEST_PRECEDENCE);
+        registry.addInterceptor(admissionControlInterceptor);
+    }
+}
@@ -0,0 +1,68 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes a token from the bucket of the client for the endpoint class of the requested endpoint.
+ * Clients are identified by the user their Authorization token belongs to, anonymous clients and
+ * unknown tokens by their address, so inventing tokens never gets a client a fresh bucket.
+ * An empty bucket is answered with 429 and the seconds until the next token in Retry-After.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectProvider<UserRepository> userRepository;
+
+    /**
+     * The repository is missing in the web layer tests, there every client is identified by its address.
+     */
+    public RateLimitInterceptor(RateLimiter rateLimiter, ObjectProvider<UserRepository> userRepository) {
+        this.rateLimiter = rateLimiter;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        RateLimit rateLimit = ((HandlerMethod) handler).getMethodAnnotation(RateLimit.class);
+        EndpointClass endpointClass = rateLimit == null ? EndpointClass.DEFAULT : rateLimit.value();
+
+        long waitNanos = rateLimiter.tryAcquire(getClientKey(request), endpointClass, System.nanoTime());
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil((double) waitNanos / TimeUnit.SECONDS.toNanos(1)));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, please try again later.");
+        return false;
+    }
+
+    private String getClientKey(HttpServletRequest request) {
+        String userToken = request.getHeader(Constant.AUTHORIZATION_HEADER);
+        UserRepository users = userRepository.getIfAvailable();
+
+        if (userToken != null && users != null) {
+            User user = users.findByToken(userToken);
+            if (user != null) {
+                return "user:" + user.getId();
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,81 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client and endpoint class. The table is a ConcurrentHashMap of lock-free buckets;
+ * every few thousand requests the buckets that refilled completely are evicted, since a full bucket
+ * behaves like a new one. A new bucket that would grow the table over its size drops the oldest buckets,
+ * so the table stays bounded without scanning it on the request path.
+ */
+public class RateLimiter {
+
+    private static final int EVICTION_INTERVAL = 4096;
+
+    private final Map<EndpointClass, Limit> limits;
+    private final int maxBuckets;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Queue<Map.Entry<String, TokenBucket>> creationOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    public RateLimiter(Map<EndpointClass, Limit> limits, int maxBuckets) {
+        this.limits = new EnumMap<>(limits);
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * @return 0 if the request may pass, otherwise the nanoseconds until the client may try again
+     */
+    public long tryAcquire(String clientKey, EndpointClass endpointClass, long nowNanos) {
+        if (requests.incrementAndGet() % EVICTION_INTERVAL == 0) {
+            evictFullBuckets(nowNanos);
+        }
+
+        String key = endpointClass + ":" + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = addBucket(key, limits.get(endpointClass), nowNanos);
+        }
+        return bucket.tryTake(nowNanos);
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    void evictFullBuckets(long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+        creationOrder.removeIf(entry -> buckets.get(entry.getKey()) != entry.getValue());
+    }
+
+    private TokenBucket addBucket(String key, Limit limit, long nowNanos) {
+        TokenBucket newBucket = new TokenBucket(limit.capacity, limit.refillPerSecond, nowNanos);
+        TokenBucket existingBucket = buckets.putIfAbsent(key, newBucket);
+        if (existingBucket != null) {
+            return existingBucket;
+        }
+
+        creationOrder.add(Map.entry(key, newBucket));
+        Map.Entry<String, TokenBucket> oldest;
+        while (buckets.size() > maxBuckets && (oldest = creationOrder.poll()) != null) {
+            // an entry whose bucket was evicted and created again no longer matches and removes nothing
+            buckets.remove(oldest.getKey(), oldest.getValue());
+        }
+        return newBucket;
+    }
+
+    public static final class Limit {
+        private final double capacity;
+        private final double refillPerSecond;
+
+        public Limit(double capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its capacity.
+ * The state is replaced with compare-and-set, so taking a token needs no lock.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryTake(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / refillPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.updatedNanos)))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket that would be full again is the same as a new one and can be dropped.
+     */
+    public boolean isFull(long nowNanos) {
+        return refill(state.get(), nowNanos) >= capacity;
+    }
+
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.updatedNanos);
+        return Math.min(capacity, current.tokens + elapsed * refillPerNano);
+    }
+
+    private static final class State {
+        private final double tokens;
+        private final long updatedNanos;
+
+        private State(double tokens, long updatedNanos) {
+            this.tokens = tokens;
+            this.updatedNanos = updatedNanos;
+        }
+    }
+}
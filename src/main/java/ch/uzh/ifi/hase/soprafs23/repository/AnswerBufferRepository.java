@@ -0,0 +1,37 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.RoundAnswerBuffer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory answer buffers of the running rounds, keyed by game pin and round number.
+ * A buffer is opened when its round starts and removed once its answers are in the database.
+ */
+public class AnswerBufferRepository {
+    private static final Map<Integer, Map<Integer, RoundAnswerBuffer>> bufferRepo = new ConcurrentHashMap<>();
+
+    private AnswerBufferRepository() {}
+
+    public static RoundAnswerBuffer open(int gamePin, int roundNumber) {
+        return bufferRepo.computeIfAbsent(gamePin, pin -> new ConcurrentHashMap<>())
+                .computeIfAbsent(roundNumber, number -> new RoundAnswerBuffer());
+    }
+
+    public static RoundAnswerBuffer find(int gamePin, int roundNumber) {
+        Map<Integer, RoundAnswerBuffer> buffers = bufferRepo.get(gamePin);
+        return buffers == null ? null : buffers.get(roundNumber);
+    }
+
+    public static void remove(int gamePin, int roundNumber) {
+        Map<Integer, RoundAnswerBuffer> buffers = bufferRepo.get(gamePin);
+        if (buffers != null) {
+            buffers.remove(roundNumber);
+        }
+    }
+
+    public static void removeGame(int gamePin) {
+        bufferRepo.remove(gamePin);
+    }
+}
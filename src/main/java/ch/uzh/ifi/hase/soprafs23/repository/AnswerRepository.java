@@ -3,17 +3,43 @@ package ch.uzh.ifi.hase.soprafs23.repository;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Answer;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.AnswerScoreView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.AnswerTallyView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository("answerRepository")
 public interface AnswerRepository extends JpaRepository<Answer, Integer> {
 
+    /**
+     * The tallies are the plain counters, so they count the votes of players who have left like the
+     * game score and the archived score do.
+     */
+    String ANSWER_TALLIES = "SELECT u.username AS username, c.name AS categoryName, a.answerString AS answerString, " +
+            "a.correctUniqueVotes AS correctUniqueVotes, a.correctNotUniqueVotes AS correctNotUniqueVotes, " +
+            "a.wrongVotes AS wrongVotes, a.noVotes AS noVotes " +
+            "FROM Answer a JOIN a.user u JOIN a.category c WHERE a.round = :round ";
+
+    String VOTE_OPTION = "T(ch.uzh.ifi.hase.soprafs23.constant.VoteOption)";
+
+    /**
+     * Counts the votes with an option the answer a got from other players, which is what its counter holds.
+     */
+    String COUNTED_VOTES = "(SELECT COUNT(*) FROM vote v " +
+            "WHERE v.answer_id = a.answer_id AND v.user_id <> a.user_id AND v.voted_option = ";
+    String COUNTED_CORRECT_UNIQUE_VOTES = COUNTED_VOTES + ":#{" + VOTE_OPTION + ".CORRECT_UNIQUE.ordinal()})";
+    String COUNTED_CORRECT_NOT_UNIQUE_VOTES = COUNTED_VOTES + ":#{" + VOTE_OPTION + ".CORRECT_NOT_UNIQUE.ordinal()})";
+    String COUNTED_WRONG_VOTES = COUNTED_VOTES + ":#{" + VOTE_OPTION + ".WRONG.ordinal()})";
+    String COUNTED_NO_VOTES = COUNTED_VOTES + ":#{" + VOTE_OPTION + ".NO_VOTE.ordinal()})";
+
     List<Answer> findByRound(Round round);
     Answer findById(int answerId);
     List<Answer> findByRoundAndUser(Round round, User user);
@@ -21,7 +47,54 @@ public interface AnswerRepository extends JpaRepository<Answer, Integer> {
     Answer findByRoundAndCategoryAndUser(Round round, Category category, User user);
     @Query("SELECT a FROM Answer a WHERE a.round.game.gamePin = :gamePin")
     List<Answer> findAllByGamePin(@Param("gamePin") int gamePin);
+    @Query("SELECT a FROM Answer a JOIN FETCH a.user JOIN FETCH a.category WHERE a.round = :round ORDER BY a.id")
+    List<Answer> findByRoundWithUserAndCategory(@Param("round") Round round);
+    @Query("SELECT DISTINCT a FROM Answer a JOIN FETCH a.user JOIN FETCH a.category " +
+            "LEFT JOIN FETCH a.votes v LEFT JOIN FETCH v.user WHERE a.round = :round ORDER BY a.id")
+    List<Answer> findByRoundWithVotes(@Param("round") Round round);
+    @Query("SELECT a.user.id FROM Answer a WHERE a.round = :round AND a.category = :category")
+    List<Integer> findUserIdsByRoundAndCategory(@Param("round") Round round, @Param("category") Category category);
+    @Query(ANSWER_TALLIES + "ORDER BY a.id")
+    List<AnswerTallyView> findTalliesByRound(@Param("round") Round round);
+    @Query(ANSWER_TALLIES + "AND a.category = :category ORDER BY a.id")
+    List<AnswerTallyView> findTalliesByRoundAndCategory(@Param("round") Round round, @Param("category") Category category);
+    @Query("SELECT a.user AS user, a.correctUniqueVotes AS correctUniqueVotes, " +
+            "a.correctNotUniqueVotes AS correctNotUniqueVotes, a.wrongVotes AS wrongVotes, a.noVotes AS noVotes " +
+            "FROM Answer a WHERE a.round.game = :game")
+    List<AnswerScoreView> findScoresByGame(@Param("game") Game game);
     List<Answer> findAllByUser(User user);
     List<Answer> findAllByUser_Id(int userId);
 
+    /**
+     * Counts a vote in the tally of the answer in a single statement, so concurrent votes never overwrite each other.
+     * The counters of answers already loaded in the persistence context are not refreshed.
+     */
+    @Modifying
+    @Query(value = "UPDATE answer SET " +
+            "correct_unique_votes = correct_unique_votes + CASE WHEN :option = 'CORRECT_UNIQUE' THEN 1 ELSE 0 END, " +
+            "correct_not_unique_votes = correct_not_unique_votes + CASE WHEN :option = 'CORRECT_NOT_UNIQUE' THEN 1 ELSE 0 END, " +
+            "wrong_votes = wrong_votes + CASE WHEN :option = 'WRONG' THEN 1 ELSE 0 END, " +
+            "no_votes = no_votes + CASE WHEN :option = 'NO_VOTE' THEN 1 ELSE 0 END " +
+            "WHERE answer_id = :answerId", nativeQuery = true)
+    void incrementVoteCounter(@Param("answerId") int answerId, @Param("option") String option);
+
+    @Query(value = "SELECT a.answer_id FROM answer a " +
+            "WHERE a.correct_unique_votes <> " + COUNTED_CORRECT_UNIQUE_VOTES + " " +
+            "OR a.correct_not_unique_votes <> " + COUNTED_CORRECT_NOT_UNIQUE_VOTES + " " +
+            "OR a.wrong_votes <> " + COUNTED_WRONG_VOTES + " " +
+            "OR a.no_votes <> " + COUNTED_NO_VOTES, nativeQuery = true)
+    List<Integer> findIdsWithDriftedVoteCounters();
+
+    @Modifying
+    @Query(value = "UPDATE answer a SET " +
+            "correct_unique_votes = " + COUNTED_CORRECT_UNIQUE_VOTES + ", " +
+            "correct_not_unique_votes = " + COUNTED_CORRECT_NOT_UNIQUE_VOTES + ", " +
+            "wrong_votes = " + COUNTED_WRONG_VOTES + ", " +
+            "no_votes = " + COUNTED_NO_VOTES + " " +
+            "WHERE a.answer_id IN (:answerIds)", nativeQuery = true)
+    int recountVoteCounters(@Param("answerIds") Collection<Integer> answerIds);
+
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.round IN (SELECT r FROM Round r WHERE r.game.gameId = :gameId)")
+    void deleteAllByGameId(@Param("gameId") int gameId);
 }
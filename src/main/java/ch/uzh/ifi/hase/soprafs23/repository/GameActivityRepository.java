@@ -0,0 +1,32 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory time of the last activity of every open or running game.
+ * It is touched by the messages sent to a lobby and by the requests of its players,
+ * so games whose players and timers are gone can be found by the GameJanitorJob.
+ */
+public class GameActivityRepository {
+    private static final Map<Integer, Instant> activityRepo = new ConcurrentHashMap<>();
+
+    private GameActivityRepository() {}
+
+    public static void touch(int gamePin) {
+        activityRepo.put(gamePin, Instant.now());
+    }
+
+    /**
+     * A game without a recorded activity, for example after a restart,
+     * counts as active from the first time it is looked up.
+     */
+    public static Instant findLastActivity(int gamePin) {
+        return activityRepo.computeIfAbsent(gamePin, pin -> Instant.now());
+    }
+
+    public static void removeGame(int gamePin) {
+        activityRepo.remove(gamePin);
+    }
+}
@@ -0,0 +1,25 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.GameHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository("gameHistoryRepository")
+public interface GameHistoryRepository extends JpaRepository<GameHistory, Integer> {
+
+    @Query("SELECT h.id FROM GameHistory h WHERE h.closedAt < :closedBefore ORDER BY h.id")
+    List<Integer> findIdsByClosedAtBefore(@Param("closedBefore") LocalDateTime closedBefore, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM GameHistory h WHERE h.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+}
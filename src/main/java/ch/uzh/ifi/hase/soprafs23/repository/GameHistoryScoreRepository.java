@@ -0,0 +1,36 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameResult;
+import ch.uzh.ifi.hase.soprafs23.entity.game.GameHistoryScore;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameHistoryView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.HistoryStatisticView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository("gameHistoryScoreRepository")
+public interface GameHistoryScoreRepository extends JpaRepository<GameHistoryScore, Integer> {
+
+    @Query("SELECT COUNT(s) AS playedGames, " +
+            "COALESCE(SUM(CASE WHEN s.result = :winner THEN 1 ELSE 0 END), 0) AS wins, " +
+            "COALESCE(SUM(s.answerCount), 0) AS answers, " +
+            "COALESCE(SUM(s.score), 0) AS points, " +
+            "COALESCE(SUM(s.correctUniqueAnswerCount), 0) AS correctUniqueAnswers " +
+            "FROM GameHistoryScore s WHERE s.user.id = :userId")
+    HistoryStatisticView findStatisticByUserId(@Param("userId") int userId, @Param("winner") GameResult winner);
+
+    @Query("SELECT h.gamePin AS gamePin, h.closedAt AS closedAt, h.categoryNames AS categoryNames, " +
+            "s.score AS score, s.result AS result " +
+            "FROM GameHistoryScore s JOIN s.gameHistory h WHERE s.user.id = :userId ORDER BY h.closedAt DESC, h.id DESC")
+    List<GameHistoryView> findHistoryByUserId(@Param("userId") int userId);
+
+    @Modifying
+    @Query("DELETE FROM GameHistoryScore s WHERE s.gameHistory.id IN :gameHistoryIds")
+    int deleteAllByGameHistoryIdIn(@Param("gameHistoryIds") Collection<Integer> gameHistoryIds);
+
+}
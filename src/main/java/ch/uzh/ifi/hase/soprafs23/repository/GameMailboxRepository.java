@@ -0,0 +1,28 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.GameMailbox;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * In-memory mailbox of every game with pending or running state mutations.
+ */
+public class GameMailboxRepository {
+    private static final Map<Integer, GameMailbox> mailboxRepo = new ConcurrentHashMap<>();
+
+    private GameMailboxRepository() {}
+
+    public static GameMailbox findOrCreate(int gamePin, Executor executor) {
+        return mailboxRepo.computeIfAbsent(gamePin, pin -> new GameMailbox(executor));
+    }
+
+    public static GameMailbox find(int gamePin) {
+        return mailboxRepo.get(gamePin);
+    }
+
+    public static void removeGame(int gamePin) {
+        mailboxRepo.remove(gamePin);
+    }
+}
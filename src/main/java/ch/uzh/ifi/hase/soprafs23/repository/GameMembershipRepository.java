@@ -0,0 +1,41 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of which users are currently in which game.
+ * It is kept up to date on create, join and leave, so websocket
+ * subscriptions can be authorized without a database lookup.
+ */
+public class GameMembershipRepository {
+    private static final Map<Integer, Set<Integer>> membershipRepo = new ConcurrentHashMap<>();
+
+    private GameMembershipRepository() {}
+
+    public static void addUser(int gamePin, int userId) {
+        membershipRepo.computeIfAbsent(gamePin, pin -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    public static void removeUser(int gamePin, int userId) {
+        Set<Integer> members = membershipRepo.get(gamePin);
+        if (members != null) {
+            members.remove(userId);
+        }
+    }
+
+    public static boolean isMember(int gamePin, int userId) {
+        Set<Integer> members = membershipRepo.get(gamePin);
+        return members != null && members.contains(userId);
+    }
+
+    public static Set<Integer> findMembers(int gamePin) {
+        Set<Integer> members = membershipRepo.get(gamePin);
+        return members == null ? Set.of() : Set.copyOf(members);
+    }
+
+    public static void removeGame(int gamePin) {
+        membershipRepo.remove(gamePin);
+    }
+}
@@ -1,13 +1,21 @@
 package ch.uzh.ifi.hase.soprafs23.repository;
 
 import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.constant.ParticipantStatus;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameSettingView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameUserView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository("gameRepository")
@@ -17,11 +25,56 @@ public interface GameRepository extends JpaRepository<Game, Integer> {
     Game findByGamePin(int gamePin);
     List<Game> findByStatus(GameStatus status);
 
+    @EntityGraph(Game.WITH_PARTICIPANTS)
+    @Query("SELECT DISTINCT g FROM Game g WHERE g.gamePin = :gamePin")
+    Game findByGamePinWithParticipants(@Param("gamePin") int gamePin);
+
+    @EntityGraph(Game.WITH_CATEGORIES)
+    @Query("SELECT DISTINCT g FROM Game g WHERE g.gamePin = :gamePin")
+    Game findByGamePinWithCategories(@Param("gamePin") int gamePin);
+
+    @EntityGraph(Game.WITH_PARTICIPANTS)
+    @Query("SELECT DISTINCT g FROM Game g WHERE g.status IN :statuses")
+    List<Game> findByStatusInWithParticipants(@Param("statuses") Collection<GameStatus> statuses);
+
+    GameSettingView findSettingByGamePin(int gamePin);
+
+    @Query("SELECT u.id AS userId, u.username AS username FROM GameParticipant gp JOIN gp.user u " +
+            "WHERE gp.game.gamePin = :gamePin AND gp.participantStatus = :status ORDER BY gp.id")
+    List<GameUserView> findUsersByGamePinAndStatus(@Param("gamePin") int gamePin,
+                                                   @Param("status") ParticipantStatus status);
+
     @Query("SELECT gp.game FROM GameParticipant gp WHERE gp.user.id = :userId")
     List<Game> findAllGamesByUserId(@Param("userId") int userId);
 
     @Query("SELECT gp.user FROM GameParticipant gp WHERE gp.game.gamePin = :gamePin")
     List<User> findAllParticipantsByGamePin(@Param("gamePin") int gamePin);
 
+    @Query("SELECT g.gameId FROM Game g WHERE g.status = :status AND g.closedAt < :closedBefore ORDER BY g.closedAt")
+    List<Integer> findIdsByStatusAndClosedAtBefore(@Param("status") GameStatus status,
+                                                   @Param("closedBefore") LocalDateTime closedBefore,
+                                                   Pageable pageable);
+
+    @Query("SELECT g.gamePin FROM Game g WHERE g.status IN :statuses")
+    List<Integer> findPinsByStatusIn(@Param("statuses") Collection<GameStatus> statuses);
+
+    /**
+     * Bulk deletes of an archived game, children first. The last one clears the persistence
+     * context, so no managed entity still references the deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM GameParticipant gp WHERE gp.game.gameId = :gameId")
+    void deleteParticipantsByGameId(@Param("gameId") int gameId);
+
+    @Modifying
+    @Query(value = "DELETE FROM game_round_letters WHERE game_game_id = :gameId", nativeQuery = true)
+    void deleteRoundLettersByGameId(@Param("gameId") int gameId);
+
+    @Modifying
+    @Query(value = "DELETE FROM game_category WHERE game_id = :gameId", nativeQuery = true)
+    void deleteCategoriesByGameId(@Param("gameId") int gameId);
 
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Game g WHERE g.gameId = :gameId")
+    void deleteByGameIdInBulk(@Param("gameId") int gameId);
 }
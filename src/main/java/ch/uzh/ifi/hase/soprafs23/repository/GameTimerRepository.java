@@ -0,0 +1,52 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory running timers of every game, their count is read by the admission control.
+ * A timer is counted as stopped once, no matter whether it stopped itself or its game was closed.
+ */
+public class GameTimerRepository {
+    private static final Map<Integer, Set<ScheduledExecutorService>> timerRepo = new ConcurrentHashMap<>();
+    private static final AtomicInteger activeTimers = new AtomicInteger();
+
+    private GameTimerRepository() {}
+
+    public static void timerStarted(int gamePin, ScheduledExecutorService timer) {
+        if (timerRepo.computeIfAbsent(gamePin, pin -> ConcurrentHashMap.newKeySet()).add(timer)) {
+            activeTimers.incrementAndGet();
+        }
+    }
+
+    public static void timerStopped(int gamePin, ScheduledExecutorService timer) {
+        timer.shutdown();
+        Set<ScheduledExecutorService> timers = timerRepo.get(gamePin);
+        if (timers != null && timers.remove(timer)) {
+            activeTimers.decrementAndGet();
+        }
+    }
+
+    public static int countActiveTimers() {
+        return activeTimers.get();
+    }
+
+    /**
+     * Shuts down the timers of a closed game.
+     */
+    public static void removeGame(int gamePin) {
+        Set<ScheduledExecutorService> timers = timerRepo.remove(gamePin);
+        if (timers == null) {
+            return;
+        }
+        for (ScheduledExecutorService timer : timers) {
+            timer.shutdown();
+            if (timers.remove(timer)) {
+                activeTimers.decrementAndGet();
+            }
+        }
+    }
+}
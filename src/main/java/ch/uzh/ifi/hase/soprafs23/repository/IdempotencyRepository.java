@@ -0,0 +1,128 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Bounded in-memory outcomes of the submissions sent with an Idempotency-Key header.
+ * The first request with a key runs the submission, a retry with the same key and body gets the
+ * original outcome without running it again. A duplicate arriving while the first is still running
+ * is answered with 409 right away instead of holding a thread, and a key sent again with another body
+ * is refused with 422. Only successes and client errors are kept, so a submission that failed for
+ * another reason, like a timeout, can be retried.
+ */
+public class IdempotencyRepository {
+    private static final Map<String, Outcome> outcomes = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+                    return size() > Constant.IDEMPOTENCY_CACHE_CAPACITY;
+                }
+            });
+
+    private IdempotencyRepository() {}
+
+    /**
+     * Runs the submission once per key, runs it every time if the client sent no key.
+     *
+     * @param body the body of the request, a key may only be used again with an equal body
+     */
+    public static void runOnce(String idempotencyKey, Object body, Runnable submission) {
+        if (idempotencyKey == null) {
+            submission.run();
+            return;
+        }
+
+        Outcome newOutcome = new Outcome(body);
+        Outcome existingOutcome = outcomes.putIfAbsent(idempotencyKey, newOutcome);
+
+        if (existingOutcome != null) {
+            replay(existingOutcome, body);
+            return;
+        }
+
+        try {
+            submission.run();
+            newOutcome.result.complete(null);
+        }
+        catch (ResponseStatusException e) {
+            if (!e.getStatus().is4xxClientError()) {
+                outcomes.remove(idempotencyKey, newOutcome);
+            }
+            newOutcome.result.completeExceptionally(e);
+            throw e;
+        }
+        catch (RuntimeException e) {
+            outcomes.remove(idempotencyKey, newOutcome);
+            newOutcome.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Keys are scoped to the user and the endpoint, so clients only need unique keys per submission.
+     */
+    public static String createKey(String userToken, String endpoint, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return null;
+        }
+        return userToken + " " + endpoint + " " + idempotencyKey;
+    }
+
+    /**
+     * The submissions of a closed game cannot be sent again, so its outcomes are dropped.
+     */
+    public static void removeGame(int gamePin) {
+        String gameEndpoint = gamePin + "/";
+        synchronized (outcomes) {
+            // the tokens contain no spaces, so the endpoint starts after the first one
+            outcomes.keySet().removeIf(key -> key.startsWith(gameEndpoint, key.indexOf(' ') + 1));
+        }
+    }
+
+    public static int countOutcomes() {
+        return outcomes.size();
+    }
+
+    public static void clear() {
+        outcomes.clear();
+    }
+
+    private static void replay(Outcome outcome, Object body) {
+        if (!Objects.equals(outcome.body, body)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for another submission.");
+        }
+        if (!outcome.result.isDone()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "This submission is still being processed, please retry.");
+        }
+
+        try {
+            outcome.result.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Outcome {
+        private final Object body;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Outcome(Object body) {
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.game.MessageLog;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MessageLogRepository {
+    private static final Map<Integer, MessageLog> messageLogRepo = new ConcurrentHashMap<>();
+
+    private MessageLogRepository() {}
+
+    public static MessageLog addGame(int gamePin) {
+        messageLogRepo.put(gamePin, new MessageLog(Constant.MESSAGE_LOG_CAPACITY));
+        return findByGamePin(gamePin);
+    }
+
+    public static MessageLog findByGamePin(int gamePin) {
+        MessageLog messageLog = messageLogRepo.get(gamePin);
+        if (messageLog == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "This lobby does not exist!");
+        }
+        return messageLog;
+    }
+
+    public static Optional<MessageLog> findOptionalByGamePin(int gamePin) {
+        return Optional.ofNullable(messageLogRepo.get(gamePin));
+    }
+
+    public static void removeMessageLog(int gamePin) {
+        messageLogRepo.remove(gamePin);
+    }
+}
@@ -0,0 +1,65 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of which players have submitted their answers of a round or their votes of a category.
+ * The timers end a phase early as soon as every player still in the game has submitted,
+ * instead of waiting for the time to run out or for everybody to skip.
+ */
+public class PhaseProgressRepository {
+    private static final Map<Integer, Map<String, Set<Integer>>> progressRepo = new ConcurrentHashMap<>();
+
+    private PhaseProgressRepository() {}
+
+    public static String answersPhase(int roundNumber) {
+        return "answers:" + roundNumber;
+    }
+
+    public static String votesPhase(int roundNumber, int categoryIndex) {
+        return "votes:" + roundNumber + ":" + categoryIndex;
+    }
+
+    public static void markSubmitted(int gamePin, String phase, int userId) {
+        progressRepo.computeIfAbsent(gamePin, pin -> new ConcurrentHashMap<>())
+                .computeIfAbsent(phase, key -> ConcurrentHashMap.newKeySet())
+                .add(userId);
+    }
+
+    /**
+     * Marks the submission once the surrounding transaction commits,
+     * so a phase never ends before the submission can be read.
+     */
+    public static void markSubmittedAfterCommit(int gamePin, String phase, int userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markSubmitted(gamePin, phase, userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markSubmitted(gamePin, phase, userId);
+            }
+        });
+    }
+
+    public static boolean allPlayersSubmitted(int gamePin, String phase) {
+        Map<String, Set<Integer>> phases = progressRepo.get(gamePin);
+        Set<Integer> submittedUserIds = phases == null ? null : phases.get(phase);
+        if (submittedUserIds == null) {
+            return false;
+        }
+
+        Set<Integer> members = GameMembershipRepository.findMembers(gamePin);
+        return !members.isEmpty() && submittedUserIds.containsAll(members);
+    }
+
+    public static void removeGame(int gamePin) {
+        progressRepo.remove(gamePin);
+    }
+}
@@ -0,0 +1,94 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.CachedAnswer;
+import ch.uzh.ifi.hase.soprafs23.entity.game.RoundCacheKey;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the answers and vote tallies of one category in one round.
+ * All players of a lobby ask for the same data, so the first caller computes it and
+ * every concurrent or later caller reuses the result until an answer or vote for
+ * that (gamePin, roundNumber, category) is written.
+ */
+public class RoundCacheRepository {
+    private static final Map<RoundCacheKey, CompletableFuture<List<CachedAnswer>>> answerCache = new ConcurrentHashMap<>();
+    private static final Map<RoundCacheKey, CompletableFuture<List<VoteGetDTO>>> voteCache = new ConcurrentHashMap<>();
+
+    private RoundCacheRepository() {}
+
+    public static List<CachedAnswer> findAnswers(RoundCacheKey key, Supplier<List<CachedAnswer>> loader) {
+        return readThrough(answerCache, key, loader);
+    }
+
+    public static List<VoteGetDTO> findVotes(RoundCacheKey key, Supplier<List<VoteGetDTO>> loader) {
+        return readThrough(voteCache, key, loader);
+    }
+
+    public static void invalidate(RoundCacheKey key) {
+        answerCache.remove(key);
+        voteCache.remove(key);
+    }
+
+    /**
+     * Invalidates right away and once more when the surrounding transaction commits,
+     * so a reader that loaded the old rows in between does not keep them cached.
+     */
+    public static void invalidateAfterCommit(RoundCacheKey key) {
+        invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(key);
+                }
+            });
+        }
+    }
+
+    public static void removeGame(int gamePin) {
+        answerCache.keySet().removeIf(key -> key.getGamePin() == gamePin);
+        voteCache.keySet().removeIf(key -> key.getGamePin() == gamePin);
+    }
+
+    private static <V> V readThrough(Map<RoundCacheKey, CompletableFuture<V>> cache, RoundCacheKey key,
+                                     Supplier<V> loader) {
+        CompletableFuture<V> newEntry = new CompletableFuture<>();
+        CompletableFuture<V> existingEntry = cache.putIfAbsent(key, newEntry);
+
+        if (existingEntry != null) {
+            return join(existingEntry);
+        }
+
+        try {
+            V value = loader.get();
+            newEntry.complete(value);
+            return value;
+        }
+        catch (RuntimeException e) {
+            cache.remove(key, newEntry);
+            newEntry.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> entry) {
+        try {
+            return entry.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
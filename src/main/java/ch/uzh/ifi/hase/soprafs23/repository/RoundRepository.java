@@ -3,6 +3,9 @@ package ch.uzh.ifi.hase.soprafs23.repository;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,5 +17,7 @@ public interface RoundRepository extends JpaRepository<Round, Integer> {
 
     Round findByGameAndRoundNumber(Game game, int roundNumber);
 
-
+    @Modifying
+    @Query("DELETE FROM Round r WHERE r.game.gameId = :gameId")
+    void deleteAllByGameId(@Param("gameId") int gameId);
 }
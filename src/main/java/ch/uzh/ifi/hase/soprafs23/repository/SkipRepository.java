@@ -4,10 +4,12 @@ import ch.uzh.ifi.hase.soprafs23.entity.game.SkipManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SkipRepository {
-    private static final HashMap<Integer, SkipManager> skipRepo = new HashMap<>();
+    // accessed by the mailboxes of different games at the same time
+    private static final Map<Integer, SkipManager> skipRepo = new ConcurrentHashMap<>();
 
     public static SkipManager addGame(int gamePin){
         skipRepo.put(gamePin, new SkipManager());
@@ -1,18 +1,82 @@
 package ch.uzh.ifi.hase.soprafs23.repository;
 
 import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.LeaderboardView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository("userRepository")
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    String SCORE_POINT = "T(ch.uzh.ifi.hase.soprafs23.constant.ScorePoint)";
+
+    /**
+     * Accumulated score per user: the final scores of the archived games plus every live answer,
+     * scored from its vote counters like ScoreCalculationService.calculateScore scores it.
+     * Users without answers score 0.
+     */
+    String LEADERBOARD_SCORES = "SELECT s.user_id AS userId, s.username AS username, s.accumulated_score AS accumulatedScore " +
+            "FROM (SELECT u.user_id, u.username, COALESCE(SUM(p.points), 0) + COALESCE(h.points, 0) AS accumulated_score " +
+            "FROM user u LEFT JOIN (SELECT a.user_id, " +
+            "CASE WHEN a.correct_unique_votes + a.correct_not_unique_votes >= a.wrong_votes " +
+            "THEN CASE WHEN a.correct_unique_votes >= a.correct_not_unique_votes " +
+            "THEN :#{" + SCORE_POINT + ".CORRECT_UNIQUE.points} " +
+            "ELSE :#{" + SCORE_POINT + ".CORRECT_NOT_UNIQUE.points} END " +
+            "ELSE :#{" + SCORE_POINT + ".INCORRECT.points} END AS points " +
+            "FROM answer a) p ON p.user_id = u.user_id " +
+            "LEFT JOIN (SELECT user_id, SUM(score) AS points FROM game_history_score GROUP BY user_id) h " +
+            "ON h.user_id = u.user_id " +
+            "GROUP BY u.user_id, u.username, h.points) s ";
+
+    String LEADERBOARD_ORDER = "ORDER BY s.accumulated_score DESC, s.user_id ASC";
+
+    String STREAM_FETCH_SIZE = "100";
+
     Optional<User> findById(int id);
 
     User findByToken(String token);
     User findByUsername(String username);
+    boolean existsByUsername(String username);
     List<User> findAll();
+
+    List<UserView> findAllProjectedBy();
+    Optional<UserView> findViewById(int id);
+
+    /** keyset page: the users following the given id, without an OFFSET scan */
+    List<UserView> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<UserView> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+
+    @Query(value = LEADERBOARD_SCORES + LEADERBOARD_ORDER, nativeQuery = true)
+    List<LeaderboardView> findLeaderboard();
+
+    /** keyset page: the entries ranked after the given score and user id */
+    @Query(value = LEADERBOARD_SCORES +
+            "WHERE s.accumulated_score < :afterScore " +
+            "OR (s.accumulated_score = :afterScore AND s.user_id > :afterUserId) " +
+            LEADERBOARD_ORDER + " LIMIT :limit", nativeQuery = true)
+    List<LeaderboardView> findLeaderboardPage(@Param("afterScore") int afterScore,
+                                              @Param("afterUserId") int afterUserId,
+                                              @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = LEADERBOARD_SCORES + LEADERBOARD_ORDER, nativeQuery = true)
+    Stream<LeaderboardView> streamLeaderboard();
 }
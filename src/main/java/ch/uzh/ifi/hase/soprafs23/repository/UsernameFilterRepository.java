@@ -0,0 +1,56 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.UsernameBloomFilter;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter over all registered usernames, so a free username
+ * can be confirmed without touching the database.
+ */
+public class UsernameFilterRepository {
+    private static volatile UsernameBloomFilter filter = createFilter();
+    private static volatile UsernameBloomFilter rebuildingFilter;
+    private static volatile boolean ready = false;
+
+    private UsernameFilterRepository() {}
+
+    /**
+     * Usernames added while a rebuild is running go into both filters,
+     * so the rebuilt filter does not miss them.
+     */
+    public static void add(String username) {
+        filter.put(username);
+        UsernameBloomFilter rebuilding = rebuildingFilter;
+        if (rebuilding != null) {
+            rebuilding.put(username);
+        }
+    }
+
+    /**
+     * Until the first rebuild has finished the filter does not know the existing usernames,
+     * so it answers true for every username and the caller has to ask the database.
+     */
+    public static boolean mightContain(String username) {
+        return !ready || filter.mightContain(username);
+    }
+
+    public static synchronized void rebuild(Stream<String> usernames) {
+        UsernameBloomFilter rebuilt = createFilter();
+        rebuildingFilter = rebuilt;
+        try {
+            usernames.forEach(rebuilt::put);
+            filter = rebuilt;
+            ready = true;
+        }
+        finally {
+            rebuildingFilter = null;
+        }
+    }
+
+    private static UsernameBloomFilter createFilter() {
+        return new UsernameBloomFilter(Constant.USERNAME_FILTER_EXPECTED_USERNAMES,
+                Constant.USERNAME_FILTER_FALSE_POSITIVE_RATE);
+    }
+}
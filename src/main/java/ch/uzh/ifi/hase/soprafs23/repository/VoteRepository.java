@@ -4,18 +4,26 @@ import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Answer;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository("voteRepository")
 public interface VoteRepository extends JpaRepository<Vote, Integer> {
     List<Vote> findByUser(User user);
     Vote findByUserAndAnswer(User user, Answer answer);
+    List<Vote> findByUserAndAnswerIn(User user, Collection<Answer> answers);
     List<Vote> findByAnswer(Answer answer);
 
     List<Vote> findAllByUser(User user);
 
     List<Vote> findAllByAnswer(Answer answer);
-}
 
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Vote v WHERE v.answer IN (SELECT a FROM Answer a WHERE a.round.game.gameId = :gameId)")
+    void deleteAllByGameId(@Param("gameId") int gameId);
+}
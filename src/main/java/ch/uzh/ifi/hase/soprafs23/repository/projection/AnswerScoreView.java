@@ -0,0 +1,12 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+
+/**
+ * The author of an answer with the vote counters its score is calculated from.
+ */
+public interface AnswerScoreView extends VoteCounters {
+
+    User getUser();
+
+}
@@ -0,0 +1,14 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+/**
+ * An answer with its author and vote counters, selected without loading the votes.
+ */
+public interface AnswerTallyView extends VoteCounters {
+
+    String getUsername();
+
+    String getCategoryName();
+
+    String getAnswerString();
+
+}
@@ -0,0 +1,22 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of an archived game from the point of view of one participant, without the rounds blob.
+ */
+public interface GameHistoryView {
+
+    int getGamePin();
+
+    LocalDateTime getClosedAt();
+
+    String getCategoryNames();
+
+    int getScore();
+
+    GameResult getResult();
+
+}
@@ -0,0 +1,19 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
+
+/**
+ * Settings columns of a game, selected without loading the entity or its associations.
+ */
+public interface GameSettingView {
+
+    int getHostId();
+
+    int getRoundAmount();
+
+    RoundLength getRoundLength();
+
+    GameStatus getStatus();
+
+}
@@ -0,0 +1,9 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+public interface GameUserView {
+
+    int getUserId();
+
+    String getUsername();
+
+}
@@ -0,0 +1,18 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+/**
+ * Totals over all archived games of one user.
+ */
+public interface HistoryStatisticView {
+
+    long getPlayedGames();
+
+    long getWins();
+
+    long getAnswers();
+
+    long getPoints();
+
+    long getCorrectUniqueAnswers();
+
+}
@@ -0,0 +1,14 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+/**
+ * Accumulated score of a user over all answers, aggregated by the database.
+ */
+public interface LeaderboardView {
+
+    int getUserId();
+
+    String getUsername();
+
+    int getAccumulatedScore();
+
+}
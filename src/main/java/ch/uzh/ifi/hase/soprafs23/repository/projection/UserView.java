@@ -0,0 +1,18 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Public profile columns of a user, selected without loading the entity.
+ */
+public interface UserView {
+
+    int getId();
+
+    String getUsername();
+
+    LocalDate getCreationDate();
+
+    String getQuote();
+
+}
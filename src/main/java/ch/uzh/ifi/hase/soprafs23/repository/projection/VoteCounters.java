@@ -0,0 +1,16 @@
+package ch.uzh.ifi.hase.soprafs23.repository.projection;
+
+/**
+ * The vote counters of an answer, counting the votes other players gave it.
+ */
+public interface VoteCounters {
+
+    int getCorrectUniqueVotes();
+
+    int getCorrectNotUniqueVotes();
+
+    int getWrongVotes();
+
+    int getNoVotes();
+
+}
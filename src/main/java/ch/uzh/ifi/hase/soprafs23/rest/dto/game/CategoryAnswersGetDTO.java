@@ -0,0 +1,24 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.game;
+
+/**
+ * Answers of one category as parallel arrays: answerIds[i] belongs to answerStrings[i].
+ */
+public class CategoryAnswersGetDTO {
+
+    private String categoryName;
+    private int[] answerIds;
+    private String[] answerStrings;
+
+    public String getCategoryName() { return categoryName; }
+
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public int[] getAnswerIds() { return answerIds; }
+
+    public void setAnswerIds(int[] answerIds) { this.answerIds = answerIds; }
+
+    public String[] getAnswerStrings() { return answerStrings; }
+
+    public void setAnswerStrings(String[] answerStrings) { this.answerStrings = answerStrings; }
+
+}
@@ -0,0 +1,49 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.game;
+
+/**
+ * Vote tallies of one category as parallel arrays, index i describing the answer of usernames[i].
+ */
+public class CategoryVotesGetDTO {
+
+    private String categoryName;
+    private String[] usernames;
+    private String[] answerStrings;
+    private int[] numberOfUnique;
+    private int[] numberOfNotUnique;
+    private int[] numberOfWrong;
+    private int[] numberOfNoVote;
+    private int[] points;
+
+    public String getCategoryName() { return categoryName; }
+
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public String[] getUsernames() { return usernames; }
+
+    public void setUsernames(String[] usernames) { this.usernames = usernames; }
+
+    public String[] getAnswerStrings() { return answerStrings; }
+
+    public void setAnswerStrings(String[] answerStrings) { this.answerStrings = answerStrings; }
+
+    public int[] getNumberOfUnique() { return numberOfUnique; }
+
+    public void setNumberOfUnique(int[] numberOfUnique) { this.numberOfUnique = numberOfUnique; }
+
+    public int[] getNumberOfNotUnique() { return numberOfNotUnique; }
+
+    public void setNumberOfNotUnique(int[] numberOfNotUnique) { this.numberOfNotUnique = numberOfNotUnique; }
+
+    public int[] getNumberOfWrong() { return numberOfWrong; }
+
+    public void setNumberOfWrong(int[] numberOfWrong) { this.numberOfWrong = numberOfWrong; }
+
+    public int[] getNumberOfNoVote() { return numberOfNoVote; }
+
+    public void setNumberOfNoVote(int[] numberOfNoVote) { this.numberOfNoVote = numberOfNoVote; }
+
+    public int[] getPoints() { return points; }
+
+    public void setPoints(int[] points) { this.points = points; }
+
+}
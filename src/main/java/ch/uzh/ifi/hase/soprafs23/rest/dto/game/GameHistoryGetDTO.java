@@ -0,0 +1,56 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.game;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class GameHistoryGetDTO {
+
+    private int gamePin;
+    private LocalDateTime closedAt;
+    private List<String> categories;
+    private int score;
+    private GameResult result;
+
+    public int getGamePin() {
+        return gamePin;
+    }
+
+    public void setGamePin(int gamePin) {
+        this.gamePin = gamePin;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<String> categories) {
+        this.categories = categories;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public GameResult getResult() {
+        return result;
+    }
+
+    public void setResult(GameResult result) {
+        this.result = result;
+    }
+
+}
@@ -9,6 +9,12 @@ public class GamePostDTO {
     private int rounds;
     private RoundLength roundLength;
     private List<String> categories;
+    private int maxPlayers;
+    /**
+     * How many players judge each answer, 0 lets everyone judge every answer.
+     * Only games with more than Constant.MAX_ALLOWED_OF_PLAYERS players may set it, other games are rejected.
+     */
+    private int votesPerAnswer;
 
     public int getHostId() {
         return hostId;
@@ -41,4 +47,20 @@ public class GamePostDTO {
     public void setRoundLength(RoundLength roundLength) {
         this.roundLength = roundLength;
     }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public void setMaxPlayers(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+    }
+
+    public int getVotesPerAnswer() {
+        return votesPerAnswer;
+    }
+
+    public void setVotesPerAnswer(int votesPerAnswer) {
+        this.votesPerAnswer = votesPerAnswer;
+    }
 }
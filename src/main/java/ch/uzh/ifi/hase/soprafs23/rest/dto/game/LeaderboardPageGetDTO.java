@@ -0,0 +1,26 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.game;
+
+import java.util.List;
+
+public class LeaderboardPageGetDTO {
+
+    private List<LeaderboardGetDTO> entries;
+    private String nextCursor;
+
+    public List<LeaderboardGetDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<LeaderboardGetDTO> entries) {
+        this.entries = entries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+}
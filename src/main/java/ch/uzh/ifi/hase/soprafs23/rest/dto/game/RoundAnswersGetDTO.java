@@ -0,0 +1,18 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.game;
+
+import java.util.List;
+
+public class RoundAnswersGetDTO {
+
+    private int round;
+    private List<CategoryAnswersGetDTO> categories;
+
+    public int getRound() { return round; }
+
+    public void setRound(int round) { this.round = round; }
+
+    public List<CategoryAnswersGetDTO> getCategories() { return categories; }
+
+    public void setCategories(List<CategoryAnswersGetDTO> categories) { this.categories = categories; }
+
+}
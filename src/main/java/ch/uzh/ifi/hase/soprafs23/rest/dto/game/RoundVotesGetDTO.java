@@ -0,0 +1,18 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.game;
+
+import java.util.List;
+
+public class RoundVotesGetDTO {
+
+    private int round;
+    private List<CategoryVotesGetDTO> categories;
+
+    public int getRound() { return round; }
+
+    public void setRound(int round) { this.round = round; }
+
+    public List<CategoryVotesGetDTO> getCategories() { return categories; }
+
+    public void setCategories(List<CategoryVotesGetDTO> categories) { this.categories = categories; }
+
+}
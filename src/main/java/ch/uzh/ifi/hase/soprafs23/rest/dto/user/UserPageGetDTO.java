@@ -0,0 +1,26 @@
+package ch.uzh.ifi.hase.soprafs23.rest.dto.user;
+
+import java.util.List;
+
+public class UserPageGetDTO {
+
+    private List<UserGetDTO> users;
+    private Integer nextCursor;
+
+    public List<UserGetDTO> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserGetDTO> users) {
+        this.users = users;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+}
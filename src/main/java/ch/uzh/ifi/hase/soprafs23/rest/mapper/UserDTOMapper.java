@@ -6,6 +6,8 @@ import ch.uzh.ifi.hase.soprafs23.entity.quote.FactHolder;
 import ch.uzh.ifi.hase.soprafs23.entity.quote.QuoteCategoriesHolder;
 import ch.uzh.ifi.hase.soprafs23.entity.quote.QuoteHolder;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameSettingView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.CategoryGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameSettingGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.quote.FactGetDTO;
@@ -48,6 +50,12 @@ public interface UserDTOMapper {
     @Mapping(source = "quote", target="quote")
     UserGetDTO convertEntityToUserGetDTO(User user);
 
+    @Mapping(source = "id", target = "id")
+    @Mapping(source = "username", target = "username")
+    @Mapping(source = "creationDate",target = "creationDate")
+    @Mapping(source = "quote", target="quote")
+    UserGetDTO convertUserViewToUserGetDTO(UserView userView);
+
 
     @Mapping(source = "quote", target = "quote")
     User convertUserPutDTOToEntity(UserPutDTO userPutDTO);
@@ -69,4 +77,9 @@ public interface UserDTOMapper {
     @Mapping(source = "status", target = "status")
     GameSettingGetDTO convertEntityToGameSettingGetDTO(Game game);
 
+    @Mapping(source = "roundAmount", target = "rounds")
+    @Mapping(source = "roundLength", target = "roundLength")
+    @Mapping(source = "status", target = "status")
+    GameSettingGetDTO convertGameSettingViewToGameSettingGetDTO(GameSettingView gameSettingView);
+
 }
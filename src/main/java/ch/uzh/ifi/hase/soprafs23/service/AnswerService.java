@@ -3,15 +3,22 @@ package ch.uzh.ifi.hase.soprafs23.service;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.*;
 import ch.uzh.ifi.hase.soprafs23.helper.AnswerHelper;
+import ch.uzh.ifi.hase.soprafs23.helper.VoteHelper;
 import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.CategoryAnswersGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundAnswersGetDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.VotingStartDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static ch.uzh.ifi.hase.soprafs23.helper.GameHelper.*;
 import static ch.uzh.ifi.hase.soprafs23.helper.RoundHelper.*;
@@ -27,25 +34,32 @@ public class AnswerService {
     private final RoundRepository roundRepository;
     private final AnswerRepository answerRepository;
     private final CategoryRepository categoryRepository;
+    private final Gazetteer gazetteer;
 
     @Autowired
     public AnswerService(@Qualifier("gameRepository") GameRepository gameRepository,
                          @Qualifier("userRepository") UserRepository userRepository,
                          @Qualifier("roundRepository") RoundRepository roundRepository,
                          @Qualifier("answerRepository") AnswerRepository answerRepository,
-                         @Qualifier("categoryRepository") CategoryRepository categoryRepository) {
+                         @Qualifier("categoryRepository") CategoryRepository categoryRepository,
+                         Gazetteer gazetteer) {
 
         this.gameRepository = gameRepository;
         this.userRepository = userRepository;
         this.roundRepository = roundRepository;
         this.answerRepository = answerRepository;
         this.categoryRepository = categoryRepository;
+        this.gazetteer = gazetteer;
 
     }
 
+    /**
+     * Answers sent while the round runs are buffered and written together when the round ends,
+     * answers sent after the end are written right away.
+     */
     public void saveAnswers(int gamePin, String userToken, int roundNumber, Map<String, String> answers) {
 
-        Game game = gameRepository.findByGamePin(gamePin);
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
         checkIfGameExists(game);
         checkIfGameIsRunning(game);
 
@@ -56,16 +70,105 @@ public class AnswerService {
 
         Round round = roundRepository.findByGameAndRoundNumber(game, roundNumber);
         checkIfRoundExists(round);
-        checkIfRoundIsFinished(round);
+
+        Map<String, Category> categoriesByName = getCategoriesByName(game);
+        checkIfCategoriesExist(categoriesByName, answers.keySet());
+
+        RoundAnswerBuffer buffer = AnswerBufferRepository.find(gamePin, roundNumber);
+        if (buffer == null) {
+            checkIfRoundIsFinished(round);
+        }
+        else {
+            RoundAnswerBuffer.Offer offer = buffer.offer(new BufferedAnswers(gamePin, roundNumber, user.getId(), false, answers));
+            checkIfAnswersAreNotSubmitted(offer);
+
+            if (offer == RoundAnswerBuffer.Offer.ACCEPTED) {
+                PhaseProgressRepository.markSubmittedAfterCommit(gamePin,
+                        PhaseProgressRepository.answersPhase(roundNumber), user.getId());
+                GameActivityRepository.touch(gamePin);
+                return;
+            }
+        }
+        // a closed buffer means the round has just ended, the answers are written like late answers
 
         checkIfAnswersAlreadyExist(round, user);
 
-        saveAnswersToDatabase(answers, user, round);
+        saveAnswersToDatabase(answers, categoriesByName, user, round);
+        PhaseProgressRepository.markSubmittedAfterCommit(gamePin,
+                PhaseProgressRepository.answersPhase(roundNumber), user.getId());
+        GameActivityRepository.touch(gamePin);
+
+        for (String categoryName : answers.keySet()) {
+            RoundCacheRepository.invalidateAfterCommit(new RoundCacheKey(gamePin, roundNumber, categoryName));
+        }
     }
 
-    public List<Map<Integer, String>> getAnswers(int gamePin, int roundNumber, String categoryName, String userToken) {
+    /**
+     * Autosaves the answers of a player while the round runs, a later draft or submission replaces them.
+     * Players who never submit get their last draft as their answers.
+     */
+    public void saveDraft(int gamePin, String userToken, int roundNumber, Map<String, String> answers) {
+
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
+        checkIfGameExists(game);
+        checkIfGameIsRunning(game);
+
+        User user = userRepository.findByToken(userToken);
+        checkIfUserExists(user);
+
+        checkIfUserIsInGame(game, user);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, roundNumber);
+        checkIfRoundExists(round);
+        checkIfRoundIsRunning(round);
+
+        checkIfCategoriesExist(getCategoriesByName(game), answers.keySet());
+
+        RoundAnswerBuffer buffer = AnswerBufferRepository.find(gamePin, roundNumber);
+        RoundAnswerBuffer.Offer offer = buffer == null
+                ? RoundAnswerBuffer.Offer.CLOSED
+                : buffer.offer(new BufferedAnswers(gamePin, roundNumber, user.getId(), true, answers));
+        checkIfAnswersAreNotSubmitted(offer);
+
+        if (offer == RoundAnswerBuffer.Offer.CLOSED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Round is not running anymore. Not possible to save your answers!");
+        }
+        GameActivityRepository.touch(gamePin);
+    }
+
+    /**
+     * Writes the buffered answers of a round together when the round ends.
+     * The buffer is dropped once the transaction commits, a rollback reopens the buffer.
+     */
+    public void flushBufferedAnswers(int gamePin, int roundNumber) {
+        RoundAnswerBuffer buffer = AnswerBufferRepository.find(gamePin, roundNumber);
+        if (buffer == null) {
+            return;
+        }
+
+        List<BufferedAnswers> bufferedAnswers = buffer.close();
+        afterCompletion(committed -> {
+            if (committed) {
+                AnswerBufferRepository.remove(gamePin, roundNumber);
+            }
+            else {
+                buffer.reopen();
+            }
+        });
+
         Game game = gameRepository.findByGamePin(gamePin);
         checkIfGameExists(game);
+        Round round = roundRepository.findByGameAndRoundNumber(game, roundNumber);
+        checkIfRoundExists(round);
+
+        insertBufferedAnswers(game, round, bufferedAnswers);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<Integer, String>> getAnswers(int gamePin, int roundNumber, String categoryName, String userToken) {
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
+        checkIfGameExists(game);
         checkIfGameIsRunning(game);
 
         User user = userRepository.findByToken(userToken);
@@ -80,15 +183,202 @@ public class AnswerService {
         Category category = getCategory(categoryName);
         checkIfCategoryExists(category);
 
-        List<Answer> answers = answerRepository.findByRoundAndCategory(round, category);
+        List<CachedAnswer> answers = findCachedAnswers(gamePin, round, category);
+
+        return getAnswersToJudge(game, round, category, answers, user);
+    }
+
+    /**
+     * Returns the answers of all categories of a round, validating the request once
+     * and loading every answer of the round with a single query.
+     */
+    @Transactional(readOnly = true)
+    public RoundAnswersGetDTO getRoundAnswers(int gamePin, int roundNumber, String userToken) {
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
+        checkIfGameExists(game);
+        checkIfGameIsRunning(game);
+
+        User user = userRepository.findByToken(userToken);
+        checkIfUserExists(user);
+
+        checkIfUserIsInGame(game, user);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, roundNumber);
+        checkIfRoundExists(round);
+        checkIfRoundIsFinished(round);
+
+        Map<Integer, List<Answer>> answersByCategoryId = new HashMap<>();
+        for (Answer answer : answerRepository.findByRoundWithUserAndCategory(round)) {
+            if (answer.getUser().getId() != user.getId()) {
+                answersByCategoryId
+                        .computeIfAbsent(answer.getCategory().getCategoryId(), id -> new ArrayList<>())
+                        .add(answer);
+            }
+        }
+
+        List<CategoryAnswersGetDTO> categoryAnswersGetDTOs = new ArrayList<>();
+        for (Category category : game.getCategories()) {
+            List<Answer> answers = answersByCategoryId.getOrDefault(category.getCategoryId(), List.of());
+
+            int[] answerIds = new int[answers.size()];
+            String[] answerStrings = new String[answers.size()];
+            for (int i = 0; i < answers.size(); i++) {
+                answerIds[i] = answers.get(i).getAnswerId();
+                answerStrings[i] = answers.get(i).getAnswerString();
+            }
+
+            CategoryAnswersGetDTO categoryAnswersGetDTO = new CategoryAnswersGetDTO();
+            categoryAnswersGetDTO.setCategoryName(category.getName());
+            categoryAnswersGetDTO.setAnswerIds(answerIds);
+            categoryAnswersGetDTO.setAnswerStrings(answerStrings);
+            categoryAnswersGetDTOs.add(categoryAnswersGetDTO);
+        }
+
+        RoundAnswersGetDTO roundAnswersGetDTO = new RoundAnswersGetDTO();
+        roundAnswersGetDTO.setRound(round.getRoundNumber());
+        roundAnswersGetDTO.setCategories(categoryAnswersGetDTOs);
+        return roundAnswersGetDTO;
+    }
+
+    /**
+     * Loads the answers of one category once and filters them in memory for every active user,
+     * so the whole lobby can be served with the queries of a single getAnswers call.
+     * Users without answers to judge have nothing to vote on and count as having voted.
+     */
+    public Map<String, VotingStartDTO> getVotingStartDTOsOfAllUsers(int gamePin, int categoryIndex) {
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
+        checkIfGameExists(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, game.getCurrentRound());
+        checkIfRoundExists(round);
+
+        Category category = getCategoryByIndex(game, categoryIndex);
+
+        List<CachedAnswer> answers = findCachedAnswers(gamePin, round, category);
 
-        return AnswerHelper.filterAnswersByDeletingUser(answers, user);
+        Map<String, VotingStartDTO> votingStartDTOs = new HashMap<>();
+        for (User user : game.getActiveUsers()) {
+            VotingStartDTO votingStartDTO = new VotingStartDTO();
+            votingStartDTO.setRound(round.getRoundNumber());
+            votingStartDTO.setCategoryIndex(categoryIndex);
+            votingStartDTO.setCategoryName(category.getName());
+            List<Map<Integer, String>> answersToJudge = getAnswersToJudge(game, round, category, answers, user);
+            votingStartDTO.setAnswers(answersToJudge);
+            votingStartDTO.setSuggestions(AnswerHelper.getUniquenessSuggestions(answers, answersToJudge));
+            votingStartDTOs.put(user.getUsername(), votingStartDTO);
+
+            if (answersToJudge.isEmpty()) {
+                PhaseProgressRepository.markSubmittedAfterCommit(gamePin,
+                        PhaseProgressRepository.votesPhase(round.getRoundNumber(), categoryIndex), user.getId());
+            }
+        }
+        return votingStartDTOs;
     }
 
     /**
      * Helper methods to aid with the answer saving, creation and retrieval
      */
 
+    private List<CachedAnswer> findCachedAnswers(int gamePin, Round round, Category category) {
+        RoundCacheKey key = new RoundCacheKey(gamePin, round.getRoundNumber(), category.getName());
+
+        // the answers are only read once the round has ended, so they are checked once per round and category
+        return RoundCacheRepository.findAnswers(key, () -> {
+            List<Answer> answers = answerRepository.findByRoundAndCategory(round, category);
+
+            List<String> answerStrings = new ArrayList<>();
+            for (Answer answer : answers) {
+                answerStrings.add(answer.getAnswerString());
+            }
+            boolean[] duplicates = AnswerHelper.findDuplicates(answerStrings);
+
+            List<CachedAnswer> cachedAnswers = new ArrayList<>();
+            for (int i = 0; i < answers.size(); i++) {
+                Answer answer = answers.get(i);
+                boolean obviouslyWrong = gazetteer.isObviouslyWrong(category.getName(), round.getLetter(),
+                        answer.getAnswerString());
+                cachedAnswers.add(new CachedAnswer(answer, duplicates[i], obviouslyWrong));
+            }
+            return cachedAnswers;
+        });
+    }
+
+    /**
+     * In lobbies with sampled voting every player only gets the answers they are asked to judge.
+     */
+    private static List<Map<Integer, String>> getAnswersToJudge(Game game, Round round, Category category,
+                                                              List<CachedAnswer> answers, User user) {
+        if (!game.hasSampledVoting()) {
+            return AnswerHelper.filterCachedAnswersByDeletingUser(answers, user);
+        }
+
+        Set<Integer> authorIds = new HashSet<>();
+        for (CachedAnswer answer : answers) {
+            authorIds.add(answer.getUserId());
+        }
+        Set<Integer> authorsToJudge = VoteHelper.getAuthorsToJudge(authorIds, user.getId(), game.getVotesPerAnswer(),
+                game.getGamePin(), round.getRoundNumber(), category.getName());
+
+        List<Map<Integer, String>> answersToJudge = new ArrayList<>();
+        for (CachedAnswer answer : answers) {
+            if (authorsToJudge.contains(answer.getUserId())) {
+                answersToJudge.add(Map.of(answer.getAnswerId(), answer.getAnswerString()));
+            }
+        }
+        return answersToJudge;
+    }
+
+    private void insertBufferedAnswers(Game game, Round round, List<BufferedAnswers> bufferedAnswers) {
+        Map<String, Category> categoriesByName = getCategoriesByName(game);
+
+        Set<Integer> userIds = new HashSet<>();
+        for (BufferedAnswers answers : bufferedAnswers) {
+            userIds.add(answers.getUserId());
+        }
+        Map<Integer, User> usersById = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            usersById.put(user.getId(), user);
+        }
+
+        List<Answer> newAnswers = new ArrayList<>();
+        for (BufferedAnswers answers : bufferedAnswers) {
+            User user = usersById.get(answers.getUserId());
+            for (Map.Entry<String, String> answer : answers.getAnswers().entrySet()) {
+                newAnswers.add(createAnswer(answer.getValue(), categoriesByName.get(answer.getKey()), user, round));
+            }
+        }
+        answerRepository.saveAll(newAnswers);
+        answerRepository.flush();
+
+        for (Category category : game.getCategories()) {
+            RoundCacheRepository.invalidateAfterCommit(
+                    new RoundCacheKey(game.getGamePin(), round.getRoundNumber(), category.getName()));
+        }
+    }
+
+    private static void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static String prepareAnswerString(String answerString) {
+        if (answerString == null) {
+            return "-";
+        }
+        if (AnswerHelper.isAnswerTooLong(answerString)) {
+            return AnswerHelper.shortenTooLongAnswer(answerString);
+        }
+        return answerString;
+    }
+
     void checkIfAnswersAlreadyExist(Round round, User user) {
 
         List<Answer> answers = answerRepository.findByRoundAndUser(round, user);
@@ -101,36 +391,59 @@ public class AnswerService {
         }
     }
 
-    private Category getCategory(String categoryName) {
+    /**
+     * A buffer only returns ALREADY_SUBMITTED for players whose answers are or will be written.
+     */
+    private static void checkIfAnswersAreNotSubmitted(RoundAnswerBuffer.Offer offer) {
 
-        return categoryRepository.findByName(categoryName);
+        String errorMessage = "These Answers have already been saved.";
 
+        if (offer == RoundAnswerBuffer.Offer.ALREADY_SUBMITTED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, errorMessage);
+        }
     }
 
-    void saveAnswersToDatabase(Map<String, String> answers, User user, Round round) {
-        for (Map.Entry<String, String> answer : answers.entrySet()) {
+    /**
+     * Answers are only accepted for the categories of the game, so a buffered answer always has its category.
+     */
+    private static void checkIfCategoriesExist(Map<String, Category> categoriesByName, Set<String> categoryNames) {
+        for (String categoryName : categoryNames) {
+            checkIfCategoryExists(categoriesByName.get(categoryName));
+        }
+    }
 
-            String categoryName = answer.getKey();
-            Category category = getCategory(categoryName);
-            String answerString = answer.getValue();
+    private static Map<String, Category> getCategoriesByName(Game game) {
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category category : game.getCategories()) {
+            categoriesByName.put(category.getName(), category);
+        }
+        return categoriesByName;
+    }
 
-            if (answerString == null) {
-                answerString = "-";
-            }
-            else if (AnswerHelper.isAnswerTooLong(answerString)) {
-                answerString = AnswerHelper.shortenTooLongAnswer(answerString);
-            }
+    private Category getCategory(String categoryName) {
 
-            Answer newAnswer = new Answer();
+        return categoryRepository.findByName(categoryName);
+
+    }
 
-            newAnswer.setRound(round);
-            newAnswer.setUser(user);
-            newAnswer.setAnswerString(answerString);
-            newAnswer.setCategory(category);
+    void saveAnswersToDatabase(Map<String, String> answers, Map<String, Category> categoriesByName, User user, Round round) {
+        for (Map.Entry<String, String> answer : answers.entrySet()) {
 
+            Category category = categoriesByName.get(answer.getKey());
 
-            answerRepository.save(newAnswer);
+            answerRepository.save(createAnswer(answer.getValue(), category, user, round));
         }
         answerRepository.flush();
     }
+
+    private static Answer createAnswer(String answerString, Category category, User user, Round round) {
+        Answer newAnswer = new Answer();
+
+        newAnswer.setRound(round);
+        newAnswer.setUser(user);
+        newAnswer.setAnswerString(prepareAnswerString(answerString));
+        newAnswer.setCategory(category);
+
+        return newAnswer;
+    }
 }
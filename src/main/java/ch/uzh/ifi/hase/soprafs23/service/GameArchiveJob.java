@@ -0,0 +1,47 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically archives the games that have been closed for longer than the grace period.
+ * The grace period leaves the winner and scoreboard requests of the final screen on the live tables.
+ */
+@Component
+public class GameArchiveJob {
+
+    private final Logger log = LoggerFactory.getLogger(GameArchiveJob.class);
+
+    private final GameHistoryService gameHistoryService;
+    private final long gracePeriodMinutes;
+    private final int batchSize;
+
+    GameArchiveJob(GameHistoryService gameHistoryService,
+                   @Value("${game.archive.grace-period-minutes:10}") long gracePeriodMinutes,
+                   @Value("${game.janitor.batch-size:50}") int batchSize) {
+        this.gameHistoryService = gameHistoryService;
+        this.gracePeriodMinutes = gracePeriodMinutes;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${game.archive.fixed-delay-ms:60000}")
+    public void archiveClosedGames() {
+        LocalDateTime closedBefore = LocalDateTime.now().minusMinutes(gracePeriodMinutes);
+
+        // every game is archived in its own transaction, one failing game does not block the others;
+        // a backlog is worked off in batches over the following runs
+        for (int gameId : gameHistoryService.getArchivableGameIds(closedBefore, batchSize)) {
+            try {
+                gameHistoryService.archiveGame(gameId);
+            }
+            catch (RuntimeException e) {
+                log.warn("Archiving the game with id {} failed.", gameId, e);
+            }
+        }
+    }
+}
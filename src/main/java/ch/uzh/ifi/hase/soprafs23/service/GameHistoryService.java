@@ -0,0 +1,236 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameResult;
+import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.constant.ScorePoint;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.entity.game.*;
+import ch.uzh.ifi.hase.soprafs23.helper.GameHelper;
+import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameHistoryView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.HistoryStatisticView;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameHistoryGetDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Moves closed games out of the live tables into GAME_HISTORY and GAME_HISTORY_SCORE,
+ * and answers the statistics and history of a user from there.
+ */
+@Service
+@Transactional
+public class GameHistoryService {
+
+    private final Logger log = LoggerFactory.getLogger(GameHistoryService.class);
+
+    private final GameRepository gameRepository;
+    private final RoundRepository roundRepository;
+    private final AnswerRepository answerRepository;
+    private final VoteRepository voteRepository;
+    private final UserRepository userRepository;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final GameHistoryScoreRepository gameHistoryScoreRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public GameHistoryService(@Qualifier("gameRepository") GameRepository gameRepository,
+                              @Qualifier("roundRepository") RoundRepository roundRepository,
+                              @Qualifier("answerRepository") AnswerRepository answerRepository,
+                              @Qualifier("voteRepository") VoteRepository voteRepository,
+                              @Qualifier("userRepository") UserRepository userRepository,
+                              @Qualifier("gameHistoryRepository") GameHistoryRepository gameHistoryRepository,
+                              @Qualifier("gameHistoryScoreRepository") GameHistoryScoreRepository gameHistoryScoreRepository,
+                              ObjectMapper objectMapper) {
+        this.gameRepository = gameRepository;
+        this.roundRepository = roundRepository;
+        this.answerRepository = answerRepository;
+        this.voteRepository = voteRepository;
+        this.userRepository = userRepository;
+        this.gameHistoryRepository = gameHistoryRepository;
+        this.gameHistoryScoreRepository = gameHistoryScoreRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Integer> getArchivableGameIds(LocalDateTime closedBefore, int limit) {
+        return gameRepository.findIdsByStatusAndClosedAtBefore(GameStatus.CLOSED, closedBefore, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Serializes the rounds, answers and votes of a closed game into one history row,
+     * derives the final score of every participant and deletes the game from the live tables.
+     */
+    public void archiveGame(int gameId) {
+        Game game = gameRepository.findByGameId(gameId);
+        GameHelper.checkIfGameExists(game);
+
+        if (game.getStatus() != GameStatus.CLOSED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only closed games can be archived.");
+        }
+
+        GameHistory gameHistory = new GameHistory();
+        gameHistory.setGamePin(game.getGamePin());
+        gameHistory.setHostId(game.getHostId());
+        gameHistory.setRoundAmount(game.getRounds());
+        gameHistory.setClosedAt(game.getClosedAt());
+
+        ArrayNode categoryNames = objectMapper.createArrayNode();
+        for (Category category : game.getCategories()) {
+            categoryNames.add(category.getName());
+        }
+        gameHistory.setCategoryNames(categoryNames.toString());
+
+        Map<Integer, GameHistoryScore> scores = new LinkedHashMap<>();
+        for (User user : game.getUsers()) {
+            scores.computeIfAbsent(user.getId(), id -> createGameHistoryScore(user));
+        }
+
+        List<Round> rounds = new ArrayList<>(roundRepository.findByGame(game));
+        rounds.sort(Comparator.comparingInt(Round::getRoundNumber));
+
+        ArrayNode roundNodes = objectMapper.createArrayNode();
+        for (Round round : rounds) {
+            ObjectNode roundNode = roundNodes.addObject();
+            roundNode.put("roundNumber", round.getRoundNumber());
+            roundNode.put("letter", String.valueOf(round.getLetter()));
+
+            ArrayNode answerNodes = roundNode.putArray("answers");
+            for (Answer answer : answerRepository.findByRoundWithVotes(round)) {
+                ObjectNode answerNode = answerNodes.addObject();
+                answerNode.put("userId", answer.getUser().getId());
+                answerNode.put("category", answer.getCategory().getName());
+                answerNode.put("answer", answer.getAnswerString());
+
+                ObjectNode voteNodes = answerNode.putObject("votes");
+                for (Vote vote : answer.getVotes()) {
+                    voteNodes.put(String.valueOf(vote.getUser().getId()), vote.getVotedOption().name());
+                }
+
+                int points = ScoreCalculationService.calculateScore(answer.getVotes());
+                GameHistoryScore score = scores.computeIfAbsent(answer.getUser().getId(),
+                        id -> createGameHistoryScore(answer.getUser()));
+                score.setScore(score.getScore() + points);
+                score.setAnswerCount(score.getAnswerCount() + 1);
+                if (points == ScorePoint.CORRECT_UNIQUE.getPoints()) {
+                    score.setCorrectUniqueAnswerCount(score.getCorrectUniqueAnswerCount() + 1);
+                }
+            }
+        }
+        gameHistory.setRounds(roundNodes.toString());
+
+        setGameResults(scores.values());
+        for (GameHistoryScore score : scores.values()) {
+            gameHistory.addScore(score);
+        }
+        gameHistoryRepository.save(gameHistory);
+
+        voteRepository.deleteAllByGameId(gameId);
+        answerRepository.deleteAllByGameId(gameId);
+        roundRepository.deleteAllByGameId(gameId);
+        gameRepository.deleteParticipantsByGameId(gameId);
+        gameRepository.deleteRoundLettersByGameId(gameId);
+        gameRepository.deleteCategoriesByGameId(gameId);
+        gameRepository.deleteByGameIdInBulk(gameId);
+
+        log.info("Archived game {} with {} rounds.", gameHistory.getGamePin(), rounds.size());
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameHistoryGetDTO> getUserHistory(int userId) {
+        checkIfUserIdExists(userId);
+
+        List<GameHistoryGetDTO> history = new ArrayList<>();
+        for (GameHistoryView gameHistoryView : gameHistoryScoreRepository.findHistoryByUserId(userId)) {
+            GameHistoryGetDTO gameHistoryGetDTO = new GameHistoryGetDTO();
+            gameHistoryGetDTO.setGamePin(gameHistoryView.getGamePin());
+            gameHistoryGetDTO.setClosedAt(gameHistoryView.getClosedAt());
+            gameHistoryGetDTO.setCategories(parseCategoryNames(gameHistoryView.getCategoryNames()));
+            gameHistoryGetDTO.setScore(gameHistoryView.getScore());
+            gameHistoryGetDTO.setResult(gameHistoryView.getResult());
+            history.add(gameHistoryGetDTO);
+        }
+        return history;
+    }
+
+    @Transactional(readOnly = true)
+    public HistoryStatisticView getHistoryStatistic(int userId) {
+        return gameHistoryScoreRepository.findStatisticByUserId(userId, GameResult.WINNER);
+    }
+
+    /** the categories of every archived game of the user, once per game */
+    @Transactional(readOnly = true)
+    public List<String> getPlayedCategoryNames(int userId) {
+        List<String> categoryNames = new ArrayList<>();
+        for (GameHistoryView gameHistoryView : gameHistoryScoreRepository.findHistoryByUserId(userId)) {
+            categoryNames.addAll(parseCategoryNames(gameHistoryView.getCategoryNames()));
+        }
+        return categoryNames;
+    }
+
+    /**
+     * Helper methods to aid with the archiving and the history retrieval
+     */
+
+    private GameHistoryScore createGameHistoryScore(User user) {
+        GameHistoryScore score = new GameHistoryScore();
+        score.setUser(user);
+        return score;
+    }
+
+    /** same rules as the live statistics: only participants with answers win or lose */
+    private void setGameResults(Collection<GameHistoryScore> scores) {
+        int maxScore = Integer.MIN_VALUE;
+        int minScore = Integer.MAX_VALUE;
+        for (GameHistoryScore score : scores) {
+            if (score.getAnswerCount() > 0) {
+                maxScore = Math.max(maxScore, score.getScore());
+                minScore = Math.min(minScore, score.getScore());
+            }
+        }
+
+        for (GameHistoryScore score : scores) {
+            if (score.getAnswerCount() == 0) {
+                continue;
+            }
+            if (score.getScore() == maxScore) {
+                score.setResult(GameResult.WINNER);
+            }
+            else if (score.getScore() == minScore) {
+                score.setResult(GameResult.LOSER);
+            }
+            else {
+                score.setResult(GameResult.NEUTRAL);
+            }
+        }
+    }
+
+    private List<String> parseCategoryNames(String categoryNames) {
+        try {
+            return objectMapper.readValue(categoryNames, new TypeReference<List<String>>() {});
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Archived category names are not a JSON array: " + categoryNames, e);
+        }
+    }
+
+    private void checkIfUserIdExists(int userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+    }
+}
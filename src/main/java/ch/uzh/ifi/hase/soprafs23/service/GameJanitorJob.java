@@ -0,0 +1,62 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Periodically closes the games without activity for the inactivity timeout and,
+ * if a retention is configured, purges the game history older than the retention.
+ */
+@Component
+public class GameJanitorJob {
+
+    private final Logger log = LoggerFactory.getLogger(GameJanitorJob.class);
+
+    private final GameJanitorService gameJanitorService;
+    private final GameMailboxService gameMailboxService;
+    private final long inactiveMinutes;
+    private final long historyRetentionDays;
+    private final int batchSize;
+
+    GameJanitorJob(GameJanitorService gameJanitorService,
+                   GameMailboxService gameMailboxService,
+                   @Value("${game.janitor.inactive-minutes:30}") long inactiveMinutes,
+                   @Value("${game.janitor.history-retention-days:0}") long historyRetentionDays,
+                   @Value("${game.janitor.batch-size:50}") int batchSize) {
+        this.gameJanitorService = gameJanitorService;
+        this.gameMailboxService = gameMailboxService;
+        this.inactiveMinutes = inactiveMinutes;
+        this.historyRetentionDays = historyRetentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${game.janitor.fixed-delay-ms:60000}")
+    public void cleanUp() {
+        Instant inactiveSince = Instant.now().minus(inactiveMinutes, ChronoUnit.MINUTES);
+
+        for (int gamePin : gameJanitorService.getInactiveGamePins(inactiveSince)) {
+            try {
+                gameMailboxService.execute(gamePin, () -> gameJanitorService.closeInactiveGame(gamePin));
+            }
+            catch (RuntimeException e) {
+                log.warn("Closing the inactive game {} failed.", gamePin, e);
+            }
+        }
+
+        // a retention of zero keeps the history forever
+        if (historyRetentionDays > 0) {
+            LocalDateTime closedBefore = LocalDateTime.now().minusDays(historyRetentionDays);
+            int purged;
+            do {
+                purged = gameJanitorService.purgeHistoryBatch(closedBefore, batchSize);
+            } while (purged == batchSize);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.helper.GameHelper;
+import ch.uzh.ifi.hase.soprafs23.helper.TransactionHelper;
+import ch.uzh.ifi.hase.soprafs23.helper.WebSocketDTOCreator;
+import ch.uzh.ifi.hase.soprafs23.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closes open and running games that have been inactive for too long, for example because
+ * all players disconnected without leaving or the timers of the game died with a restart,
+ * and purges old game history in bounded batches.
+ */
+@Service
+@Transactional
+public class GameJanitorService {
+
+    private final Logger log = LoggerFactory.getLogger(GameJanitorService.class);
+
+    private final GameRepository gameRepository;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final GameHistoryScoreRepository gameHistoryScoreRepository;
+    private final GameHistoryService gameHistoryService;
+    private final WebSocketService webSocketService;
+
+    @Autowired
+    public GameJanitorService(@Qualifier("gameRepository") GameRepository gameRepository,
+                              @Qualifier("gameHistoryRepository") GameHistoryRepository gameHistoryRepository,
+                              @Qualifier("gameHistoryScoreRepository") GameHistoryScoreRepository gameHistoryScoreRepository,
+                              GameHistoryService gameHistoryService,
+                              WebSocketService webSocketService) {
+        this.gameRepository = gameRepository;
+        this.gameHistoryRepository = gameHistoryRepository;
+        this.gameHistoryScoreRepository = gameHistoryScoreRepository;
+        this.gameHistoryService = gameHistoryService;
+        this.webSocketService = webSocketService;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Integer> getInactiveGamePins(Instant inactiveSince) {
+        List<Integer> inactiveGamePins = new ArrayList<>();
+        for (int gamePin : gameRepository.findPinsByStatusIn(List.of(GameStatus.OPEN, GameStatus.RUNNING))) {
+            if (GameActivityRepository.findLastActivity(gamePin).isBefore(inactiveSince)) {
+                inactiveGamePins.add(gamePin);
+            }
+        }
+        return inactiveGamePins;
+    }
+
+    /**
+     * Closes the game and archives it right away, nobody is left to look at its final screen.
+     * This frees the game pin and the users, who are no longer blocked from joining other games.
+     * Players still connected get the message a game closed for too few players sends, so their clients leave it.
+     */
+    public void closeInactiveGame(int gamePin) {
+        Game game = gameRepository.findByGamePin(gamePin);
+        if (game == null || game.getStatus() == GameStatus.CLOSED) {
+            return;
+        }
+
+        game.setStatus(GameStatus.CLOSED);
+        gameRepository.saveAndFlush(game);
+        gameHistoryService.archiveGame(game.getGameId());
+
+        // sent before the state is released, the message log of the lobby is still there to sequence it
+        TransactionHelper.runAfterCommit(() -> webSocketService.sendMessageToClients(
+                Constant.DEFAULT_DESTINATION + gamePin, WebSocketDTOCreator.tooFewPlayers()));
+        GameHelper.releaseGameState(gamePin);
+
+        log.info("Closed the inactive game {}", gamePin);
+    }
+
+    /**
+     * Deletes at most batchSize archived games closed before the given time.
+     * Every batch is its own short transaction, so the history tables are never locked for long.
+     *
+     * @return the number of deleted games
+     */
+    public int purgeHistoryBatch(LocalDateTime closedBefore, int batchSize) {
+        List<Integer> gameHistoryIds = gameHistoryRepository.findIdsByClosedAtBefore(closedBefore,
+                PageRequest.of(0, batchSize));
+        if (gameHistoryIds.isEmpty()) {
+            return 0;
+        }
+
+        gameHistoryScoreRepository.deleteAllByGameHistoryIdIn(gameHistoryIds);
+        gameHistoryRepository.deleteAllByIdIn(gameHistoryIds);
+        return gameHistoryIds.size();
+    }
+}
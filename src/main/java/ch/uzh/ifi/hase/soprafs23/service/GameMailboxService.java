@@ -0,0 +1,110 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.GameMailbox;
+import ch.uzh.ifi.hase.soprafs23.monitoring.QueryCountInspector;
+import ch.uzh.ifi.hase.soprafs23.repository.GameMailboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Serializes the state mutations of a game, like joining, leaving, stopping a round,
+ * skipping and the timer ticks, on the mailbox of the game. Different games run in parallel
+ * on a shared, bounded pool of threads, so no database or in-memory locking of a game is needed.
+ */
+@Service
+public class GameMailboxService {
+
+    private final Logger log = LoggerFactory.getLogger(GameMailboxService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public GameMailboxService(@Value("${game.mailbox.threads:4}") int threads,
+                              @Value("${game.mailbox.queue-capacity:1000}") int queueCapacity,
+                              @Value("${game.mailbox.timeout-ms:10000}") long timeoutMillis) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("game-mailbox-"));
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs the mutation on the mailbox of the game and waits for it, exceptions reach the caller unchanged.
+     * The mutation should be a call on a service, so its transaction is committed before the next one starts.
+     */
+    public <T> T call(int gamePin, Supplier<T> mutation) {
+        GameMailbox mailbox = GameMailboxRepository.findOrCreate(gamePin, executor);
+        if (mailbox.isCurrentThread()) {
+            return mutation.get();
+        }
+
+        FutureTask<T> task = new FutureTask<>(QueryCountInspector.continueRecording(mutation)::get);
+        try {
+            mailbox.execute(task);
+        }
+        catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The server is busy, please try again.");
+        }
+
+        try {
+            return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The game did not respond in time.");
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The game did not respond in time.");
+        }
+    }
+
+    public void execute(int gamePin, Runnable mutation) {
+        call(gamePin, () -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queues the mutation without waiting for it, used by the timers of a game.
+     * A closed game has no mailbox anymore and gets none back, so its timers can stop.
+     *
+     * @return false if the game has no mailbox
+     */
+    public boolean submit(int gamePin, Runnable mutation) {
+        GameMailbox mailbox = GameMailboxRepository.find(gamePin);
+        if (mailbox == null) {
+            return false;
+        }
+        try {
+            mailbox.execute(mutation);
+        }
+        catch (RejectedExecutionException e) {
+            log.warn("Dropped a task of the game {}, the mailboxes are full.", gamePin);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,20 +1,29 @@
 package ch.uzh.ifi.hase.soprafs23.service;
 
+import ch.uzh.ifi.hase.soprafs23.concurrency.RetryOnConflict;
 import ch.uzh.ifi.hase.soprafs23.constant.*;
 import ch.uzh.ifi.hase.soprafs23.entity.game.*;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.helper.GameHelper;
+import ch.uzh.ifi.hase.soprafs23.helper.PaginationHelper;
+import ch.uzh.ifi.hase.soprafs23.helper.TransactionHelper;
 import ch.uzh.ifi.hase.soprafs23.helper.UserHelper;
 import ch.uzh.ifi.hase.soprafs23.helper.WebSocketDTOCreator;
 import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameSettingView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameUserView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.LeaderboardView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameCategoriesDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.LeaderboardGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.LeaderboardPageGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.ScoreboardGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.WinnerGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.rejoin.RejoinPossibleDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.rejoin.RejoinRequestDTO;
 import ch.uzh.ifi.hase.soprafs23.websocketDto.GameUsersDTO;
 import ch.uzh.ifi.hase.soprafs23.websocketDto.PlayerLeftDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.ResumeDTO;
 import ch.uzh.ifi.hase.soprafs23.websocketDto.WebSocketDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,11 +31,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -73,6 +84,11 @@ public class GameService {
         GameHelper.checkIfNotToManyCategories(newGame);
         GameHelper.checkCategoryNames(newGame);
 
+        if (newGame.getMaxPlayers() == 0) {
+            newGame.setMaxPlayers(Constant.MAX_ALLOWED_OF_PLAYERS);
+        }
+        GameHelper.checkIfLobbySizeIsValid(newGame);
+
         newGame.setGamePin(generateUniqueGamePin());
         newGame.setStatus(GameStatus.OPEN);
         newGame.setHostId(user.getId());
@@ -86,6 +102,9 @@ public class GameService {
 
         SkipManager skipManager = SkipRepository.addGame(newGame.getGamePin());
         skipManager.addUser(user);
+        MessageLogRepository.addGame(newGame.getGamePin());
+        GameActivityRepository.touch(newGame.getGamePin());
+        GameMembershipRepository.addUser(newGame.getGamePin(), user.getId());
 
         roundService.createAllRounds(newGame);
 
@@ -94,6 +113,7 @@ public class GameService {
         return newGame;
     }
 
+    @RetryOnConflict
     public void joinGame(int gamePin, String userToken) {
 
         User user = getUserByToken(userToken);
@@ -102,7 +122,7 @@ public class GameService {
 
         checkIfUserCanJoin(user.getId());
 
-        Game gameToJoin = gameRepository.findByGamePin(gamePin);
+        Game gameToJoin = gameRepository.findByGamePinWithParticipants(gamePin);
 
         GameHelper.checkIfGameExists(gameToJoin);
         GameHelper.checkIfGameIsOpen(gameToJoin);
@@ -111,20 +131,26 @@ public class GameService {
         gameToJoin.addPlayer(user);
 
         GameUsersDTO gameUsersDTO = getHostAndAllUserNamesOfGame(gameToJoin);
-        SkipManager skipManager = SkipRepository.findByGameId(gamePin);
-        skipManager.addUser(user);
 
-        webSocketService.sendMessageToClients(Constant.DEFAULT_DESTINATION + gamePin, gameUsersDTO);
+        // a version conflict only shows at commit, so the in-memory state and the lobby follow the committed join
+        TransactionHelper.runAfterCommit(() -> {
+            SkipManager skipManager = SkipRepository.findByGameId(gamePin);
+            skipManager.addUser(user);
+            GameMembershipRepository.addUser(gamePin, user.getId());
+
+            webSocketService.sendMessageToClients(Constant.DEFAULT_DESTINATION + gamePin, gameUsersDTO);
+        });
     }
 
 
+    @RetryOnConflict
     public void leaveGame(int gamePin, String userToken) {
 
         User user = getUserByToken(userToken);
 
         UserHelper.checkIfUserExists(user);
 
-        Game game = gameRepository.findByGamePin(gamePin);
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
 
         GameHelper.checkIfGameExists(game);
 
@@ -148,13 +174,32 @@ public class GameService {
             gameUsersDTO = getHostAndAllUserNamesOfGame(game);
         }
 
-        if (game.getStatus() == GameStatus.RUNNING) {
-            leaveStrategyRunningGame(gamePin,game,user);
+        GameStatus gameStatus = game.getStatus();
+        boolean tooFewPlayers = gameStatus == GameStatus.RUNNING && GameHelper.gameHasToFewPlayers(game);
+        if (tooFewPlayers) {
+            game.setStatus(GameStatus.CLOSED);
+            gameRepository.saveAndFlush(game);
         }
-        else if (game.getStatus() == GameStatus.OPEN) {
-            leaveStrategyInLobby(gamePin, userToken, gameUsersDTO);
+
+        // a version conflict only shows at commit, so the in-memory state and the lobby follow the committed leave
+        GameUsersDTO remainingUsersDTO = gameUsersDTO;
+        TransactionHelper.runAfterCommit(() -> {
+            GameMembershipRepository.removeUser(gamePin, user.getId());
+            // vote tallies leave out the answers of players who have left, so they change when someone leaves
+            RoundCacheRepository.removeGame(gamePin);
+
+            if (gameStatus == GameStatus.RUNNING) {
+                leaveStrategyRunningGame(gamePin, user, tooFewPlayers);
+            }
+            else if (gameStatus == GameStatus.OPEN) {
+                leaveStrategyInLobby(gamePin, userToken, remainingUsersDTO);
+            }
+            removePlayerSkipManager(gamePin, user);
+        });
+
+        if (Boolean.FALSE.equals(gameHasUsers) || tooFewPlayers) {
+            GameHelper.releaseGameState(gamePin);
         }
-        removePlayerSkipManager(gamePin,user);
     }
 
     private void leaveStrategyInLobby(int gamePin, String userToken, GameUsersDTO gameUsersDTO) {
@@ -163,19 +208,16 @@ public class GameService {
     }
 
 
-    private void leaveStrategyRunningGame(int gamePin, Game game, User userLeaving){
+    private void leaveStrategyRunningGame(int gamePin, User userLeaving, boolean tooFewPlayers){
         PlayerLeftDTO playerLeftDTO = new PlayerLeftDTO();
         playerLeftDTO.setUsername(userLeaving.getUsername());
         webSocketService.sendMessageToClients(Constant.DEFAULT_DESTINATION+gamePin,playerLeftDTO);
         logger.info("Player " + userLeaving.getToken() + " left the lobby " + gamePin);
 
 
-        if (GameHelper.gameHasToFewPlayers(game)) {
+        if (tooFewPlayers) {
             WebSocketDTO tooFewPlayersDTO = WebSocketDTOCreator.tooFewPlayers();
             webSocketService.sendMessageToClients(Constant.DEFAULT_DESTINATION+ gamePin, tooFewPlayersDTO);
-            game.setStatus(GameStatus.CLOSED);
-            gameRepository.saveAndFlush(game);
-
         }
 
     }
@@ -188,6 +230,7 @@ public class GameService {
         }
     }
 
+    @RetryOnConflict
     public void setUpGameForStart(int gamePin){
 
         Game game = gameRepository.findByGamePin(gamePin);
@@ -201,8 +244,11 @@ public class GameService {
 
     }
 
+    @Transactional(readOnly = true)
     public GameCategoriesDTO getGameCategoriesByGamePin(int gamePin) {
-        Game game = getGameByGamePin(gamePin);
+        Game game = gameRepository.findByGamePinWithCategories(gamePin);
+
+        GameHelper.checkIfGameExists(game);
 
         List<String> gameCategoryNames = GameHelper.getCategoryNamesByGame(game);
 
@@ -212,12 +258,49 @@ public class GameService {
         return gameCategoriesDTO;
     }
 
+    /**
+     * Read-only paths select only the columns they return. A readOnly transaction also
+     * switches the Hibernate session to FlushMode.MANUAL, so no dirty checking happens.
+     */
+    @Transactional(readOnly = true)
+    public GameSettingView getGameSettingByGamePin(int gamePin) {
+
+        GameSettingView gameSettingView = gameRepository.findSettingByGamePin(gamePin);
+
+        GameHelper.checkIfGameViewExists(gameSettingView);
+
+        return gameSettingView;
+    }
+
+    @Transactional(readOnly = true)
     public GameUsersDTO getGameUsersByGamePin(int gamePin) {
 
-        Game game = getGameByGamePin(gamePin);
+        GameSettingView gameSettingView = getGameSettingByGamePin(gamePin);
+        int hostId = gameSettingView.getHostId();
 
-        return getHostAndAllUserNamesOfGame(game);
+        String hostUsername = null;
+        List<String> usernames = new ArrayList<>();
 
+        for (GameUserView gameUser : gameRepository.findUsersByGamePinAndStatus(gamePin, ParticipantStatus.INGAME)) {
+            if (gameUser.getUserId() == hostId) {
+                hostUsername = gameUser.getUsername();
+            }
+            else {
+                usernames.add(gameUser.getUsername());
+            }
+        }
+
+        if (hostUsername == null) {
+            UserView host = userRepository.findViewById(hostId).orElse(null);
+            UserHelper.checkIfUserViewExists(host);
+            hostUsername = host.getUsername();
+        }
+
+        GameUsersDTO gameUsersDTO = new GameUsersDTO();
+        gameUsersDTO.setHostUsername(hostUsername);
+        gameUsersDTO.setUsernames(usernames);
+
+        return gameUsersDTO;
     }
 
     public Game getGameByGamePin(int gamePin) {
@@ -230,21 +313,9 @@ public class GameService {
     }
 
 
-    private List<Game> getOpenGames() {
-        return gameRepository.findByStatus(GameStatus.OPEN);
-    }
-
-    private List<Game> getRunningGames() {
-
-        return gameRepository.findByStatus(GameStatus.RUNNING);
-    }
-
     private List<Game> getOpenOrRunningGames() {
 
-        List<Game> openOrRunningGames = getOpenGames();
-        openOrRunningGames.addAll(getRunningGames());
-
-        return openOrRunningGames;
+        return gameRepository.findByStatusInWithParticipants(List.of(GameStatus.OPEN, GameStatus.RUNNING));
     }
 
     private void checkIfHostIsEligible(int hostId) {
@@ -299,7 +370,7 @@ public class GameService {
     public RejoinRequestDTO rejoinRequestDTO (String userToken, int gamePin) {
         User user = getUserByToken(userToken);
         UserHelper.checkIfUserExists(user);
-        Game game = gameRepository.findByGamePin(gamePin);
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
         List<Integer> userIds = GameHelper.getGameUsersId(game);
         if (!userIds.contains(user.getId())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, " You are not a part of this game anymore, press leave");
@@ -312,6 +383,28 @@ public class GameService {
         return rejoinRequestDTO;
     }
 
+    /**
+     * Replays the broadcasts of the lobby and the personal messages of the user after the last sequence.
+     * Membership is answered from memory, so a resume runs without a transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResumeDTO resumeGame(int gamePin, int userId, String username, long lastSequence) {
+
+        if (!GameMembershipRepository.isMember(gamePin, userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not part of this game.");
+        }
+
+        MessageLog messageLog = MessageLogRepository.findByGamePin(gamePin);
+
+        ResumeDTO resumeDTO = new ResumeDTO();
+        synchronized (messageLog) {
+            resumeDTO.setComplete(messageLog.canReplayAfter(lastSequence));
+            resumeDTO.setMessages(messageLog.getMessagesAfter(lastSequence, username));
+            resumeDTO.setLastSequence(messageLog.getLastSequence());
+        }
+        return resumeDTO;
+    }
+
     private void setNewHost(Game game) {
         List<User> users = game.getActiveUsers();
         // Check if there are users left in the game.
@@ -366,6 +459,7 @@ public class GameService {
 
 
 
+    @Transactional(readOnly = true)
     public List<WinnerGetDTO> getWinner(int gamePin) {
         Map<User, Integer> userScores = scoreCalculationService.calculateUserScores(gamePin);
 
@@ -391,6 +485,7 @@ public class GameService {
         return winners;
     }
 
+    @Transactional(readOnly = true)
     public List<ScoreboardGetDTO> getScoreboard(int gameId) {
         Map<User, Integer> userScores = scoreCalculationService.calculateUserScores(gameId);
 
@@ -408,38 +503,63 @@ public class GameService {
         return scoreboard;
     }
 
+    /**
+     * The scores are aggregated by the database, so only one row per user reaches the application.
+     */
+    @Transactional(readOnly = true)
     public List<LeaderboardGetDTO> getLeaderboard() {
 
-        List<User> users = userRepository.findAll();
+        List<LeaderboardGetDTO> leaderboard = new ArrayList<>();
+        for (LeaderboardView leaderboardView : userRepository.findLeaderboard()) {
+            leaderboard.add(createLeaderboardGetDTO(leaderboardView));
+        }
+        return leaderboard;
+    }
 
-        Map<User, Integer> leaderboard = new HashMap<>();
+    @Transactional(readOnly = true)
+    public LeaderboardPageGetDTO getLeaderboardPage(String cursor, int limit) {
+        PaginationHelper.checkIfPageLimitValid(limit);
 
-        for (User user : users) {
-            int totalUserScore = 0;
+        int afterScore = Integer.MAX_VALUE;
+        int afterUserId = 0;
+        if (cursor != null) {
+            int[] position = PaginationHelper.parseLeaderboardCursor(cursor);
+            afterScore = position[0];
+            afterUserId = position[1];
+        }
 
-            // Get all answers provided by the user
-            List<Answer> userAnswers = answerRepository.findAllByUser(user);
+        List<LeaderboardView> leaderboardViews = userRepository.findLeaderboardPage(afterScore, afterUserId, limit);
 
-            // For each answer, get the votes by other users and calculate the score
-            for (Answer answer : userAnswers) {
-                List<Vote> votesForAnswer = voteRepository.findAllByAnswer(answer);
-                int answerScore = scoreCalculationService.calculateScore(votesForAnswer);
-                totalUserScore += answerScore;
-            }
+        List<LeaderboardGetDTO> entries = new ArrayList<>();
+        for (LeaderboardView leaderboardView : leaderboardViews) {
+            entries.add(createLeaderboardGetDTO(leaderboardView));
+        }
 
-            leaderboard.put(user, totalUserScore);
+        LeaderboardPageGetDTO leaderboardPageGetDTO = new LeaderboardPageGetDTO();
+        leaderboardPageGetDTO.setEntries(entries);
+        if (leaderboardViews.size() == limit) {
+            LeaderboardView last = leaderboardViews.get(limit - 1);
+            leaderboardPageGetDTO.setNextCursor(
+                    PaginationHelper.createLeaderboardCursor(last.getAccumulatedScore(), last.getUserId()));
         }
+        return leaderboardPageGetDTO;
+    }
+
+    /**
+     * Hands the leaderboard entries to the consumer one at a time while the result set is read.
+     */
+    @Transactional(readOnly = true)
+    public void streamLeaderboard(Consumer<LeaderboardGetDTO> consumer) {
+        try (Stream<LeaderboardView> leaderboardViews = userRepository.streamLeaderboard()) {
+            leaderboardViews.forEach(leaderboardView -> consumer.accept(createLeaderboardGetDTO(leaderboardView)));
+        }
+    }
 
-        // Sort the leaderboard map by scores in descending order and create LeaderboardGetDTO objects
-        return leaderboard.entrySet().stream()
-                .sorted(Map.Entry.<User, Integer>comparingByValue().reversed())
-                .map(entry -> {
-                    LeaderboardGetDTO leaderboardGetDTO = new LeaderboardGetDTO();
-                    leaderboardGetDTO.setUsername(entry.getKey().getUsername());
-                    leaderboardGetDTO.setAccumulatedScore(entry.getValue());
-                    return leaderboardGetDTO;
-                })
-                .collect(Collectors.toList());
+    private LeaderboardGetDTO createLeaderboardGetDTO(LeaderboardView leaderboardView) {
+        LeaderboardGetDTO leaderboardGetDTO = new LeaderboardGetDTO();
+        leaderboardGetDTO.setUsername(leaderboardView.getUsername());
+        leaderboardGetDTO.setAccumulatedScore(leaderboardView.getAccumulatedScore());
+        return leaderboardGetDTO;
     }
 
 }
@@ -0,0 +1,189 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameCategory;
+import ch.uzh.ifi.hase.soprafs23.helper.AnswerHelper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * Packaged names of countries and cities used to mark obviously wrong answers of the standard categories
+ * before the players vote on them. Every list is compiled at startup into a sorted string table of the
+ * normalized names, which are stored back to back in one byte array with an index per starting letter.
+ * A lookup only searches the names with the letter of the answer and compares bytes without allocating strings.
+ */
+@Component
+public class Gazetteer {
+
+    private static final String COUNTRIES = "gazetteer/countries.txt";
+    private static final String CITIES = "gazetteer/cities.txt";
+
+    private final NameTable countries;
+    private final NameTable cities;
+
+    Gazetteer() {
+        this.countries = NameTable.load(COUNTRIES);
+        this.cities = NameTable.load(CITIES);
+    }
+
+    /**
+     * An answer of the City or Country category is obviously wrong if it does not start with the letter
+     * of the round, if it is no known country in Country, or if it is a country but no known city in City.
+     * The city list cannot be complete, so an unknown city is never wrong. Empty answers are left alone,
+     * they are always counted as WRONG.
+     */
+    public boolean isObviouslyWrong(String categoryName, Character letter, String answerString) {
+        boolean isCountry = GameCategory.COUNTRY.getName().equals(categoryName);
+        boolean isCity = GameCategory.CITY.getName().equals(categoryName);
+        if (!isCountry && !isCity) {
+            return false;
+        }
+
+        String normalizedAnswer = AnswerHelper.normalizeAnswer(answerString);
+        if (normalizedAnswer.isEmpty()) {
+            return false;
+        }
+        if (letter != null && normalizedAnswer.charAt(0) != AnswerHelper.normalizeAnswer(letter.toString()).charAt(0)) {
+            return true;
+        }
+
+        byte[] key = normalizedAnswer.getBytes(StandardCharsets.UTF_8);
+        if (isCountry) {
+            return !countries.contains(key);
+        }
+        return countries.contains(key) && !cities.contains(key);
+    }
+
+    public boolean isCountry(String answerString) {
+        return countries.contains(AnswerHelper.normalizeAnswer(answerString).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isCity(String answerString) {
+        return cities.contains(AnswerHelper.normalizeAnswer(answerString).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The bytes held by both tables, for keeping an eye on the memory they take.
+     */
+    public long getSizeInBytes() {
+        return countries.getSizeInBytes() + cities.getSizeInBytes();
+    }
+
+    private static final class NameTable {
+        private static final int LETTERS = 26;
+
+        /** the UTF-8 bytes of the sorted names, back to back */
+        private final byte[] names;
+        /** where every name starts in names, followed by the end of the last name */
+        private final int[] offsets;
+        /** the first name index of every letter a to z, followed by the number of names */
+        private final int[] letterStarts;
+
+        private NameTable(byte[] names, int[] offsets, int[] letterStarts) {
+            this.names = names;
+            this.offsets = offsets;
+            this.letterStarts = letterStarts;
+        }
+
+        /**
+         * Reads a list with one entry per line and the alternate spellings separated by |.
+         * Blank lines and lines starting with # are skipped.
+         */
+        static NameTable load(String resource) {
+            TreeSet<byte[]> sortedNames = new TreeSet<byte[]>(Arrays::compareUnsigned);
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) {
+                        continue;
+                    }
+                    for (String name : line.split("\\|")) {
+                        String normalizedName = AnswerHelper.normalizeAnswer(name);
+                        if (!normalizedName.isEmpty()) {
+                            sortedNames.add(normalizedName.getBytes(StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("The gazetteer " + resource + " could not be read.", e);
+            }
+
+            int[] offsets = new int[sortedNames.size() + 1];
+            int[] letterStarts = new int[LETTERS + 1];
+            int length = 0;
+            int index = 0;
+            for (byte[] name : sortedNames) {
+                offsets[index] = length;
+                length += name.length;
+                index++;
+            }
+            offsets[index] = length;
+
+            byte[] names = new byte[length];
+            index = 0;
+            int letter = 0;
+            for (byte[] name : sortedNames) {
+                System.arraycopy(name, 0, names, offsets[index], name.length);
+                // names starting with something else than a to z sort around the letters and are only found by the full search
+                while (letter < LETTERS && name[0] >= 'a' + letter) {
+                    letterStarts[letter] = index;
+                    letter++;
+                }
+                index++;
+            }
+            while (letter <= LETTERS) {
+                letterStarts[letter] = index;
+                letter++;
+            }
+
+            return new NameTable(names, offsets, letterStarts);
+        }
+
+        boolean contains(byte[] key) {
+            if (key.length == 0) {
+                return false;
+            }
+
+            int letter = key[0] - 'a';
+            if (letter >= 0 && letter < LETTERS) {
+                return binarySearch(key, letterStarts[letter], letterStarts[letter + 1]);
+            }
+            return binarySearch(key, 0, offsets.length - 1);
+        }
+
+        private boolean binarySearch(byte[] key, int from, int to) {
+            int low = from;
+            int high = to - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = Arrays.compareUnsigned(names, offsets[middle], offsets[middle + 1], key, 0, key.length);
+
+                if (comparison < 0) {
+                    low = middle + 1;
+                }
+                else if (comparison > 0) {
+                    high = middle - 1;
+                }
+                else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long getSizeInBytes() {
+            return names.length + 4L * offsets.length + 4L * letterStarts.length;
+        }
+    }
+}
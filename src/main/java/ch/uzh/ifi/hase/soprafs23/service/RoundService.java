@@ -1,5 +1,6 @@
         package ch.uzh.ifi.hase.soprafs23.service;
 
+        import ch.uzh.ifi.hase.soprafs23.concurrency.RetryOnConflict;
         import ch.uzh.ifi.hase.soprafs23.constant.Constant;
         import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
         import ch.uzh.ifi.hase.soprafs23.constant.RoundStatus;
@@ -10,7 +11,10 @@
         import ch.uzh.ifi.hase.soprafs23.entity.quote.FactHolder;
         import ch.uzh.ifi.hase.soprafs23.helper.RoundHelper;
         import ch.uzh.ifi.hase.soprafs23.helper.WebSocketDTOCreator;
+        import ch.uzh.ifi.hase.soprafs23.repository.AnswerBufferRepository;
         import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
+        import ch.uzh.ifi.hase.soprafs23.repository.GameTimerRepository;
+        import ch.uzh.ifi.hase.soprafs23.repository.PhaseProgressRepository;
         import ch.uzh.ifi.hase.soprafs23.repository.RoundRepository;
         import ch.uzh.ifi.hase.soprafs23.repository.SkipRepository;
         import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
@@ -20,14 +24,18 @@
         import ch.uzh.ifi.hase.soprafs23.websocketDto.TimerDto.VotingTimerDTO;
         import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.ResultNextVoteDTO;
         import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.VotingEndDTO;
+        import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.VotingResultDTO;
+        import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.VotingStartDTO;
         import org.slf4j.Logger;
         import org.slf4j.LoggerFactory;
         import org.springframework.beans.factory.annotation.Autowired;
         import org.springframework.beans.factory.annotation.Qualifier;
         import org.springframework.stereotype.Service;
         import org.springframework.transaction.annotation.Transactional;
+        import org.springframework.web.server.ResponseStatusException;
 
         import java.util.List;
+        import java.util.Map;
         import java.util.concurrent.Executors;
         import java.util.concurrent.ScheduledExecutorService;
         import java.util.concurrent.TimeUnit;
@@ -46,6 +54,9 @@
             private final UserRepository userRepository;
             private final WebSocketService webSocketService;
             private final QuoteService quoteService;
+            private final AnswerService answerService;
+            private final VoteService voteService;
+            private final GameMailboxService gameMailboxService;
 
             private final Logger logger = LoggerFactory.getLogger(RoundService.class);
 
@@ -56,12 +67,18 @@
                                 @Qualifier("gameRepository")GameRepository gameRepository,
                                 @Qualifier("userRepository") UserRepository userRepository,
                                 WebSocketService webSocketService,
-                                QuoteService quoteService) {
+                                QuoteService quoteService,
+                                AnswerService answerService,
+                                VoteService voteService,
+                                GameMailboxService gameMailboxService) {
                 this.roundRepository = roundRepository;
                 this.gameRepository = gameRepository;
                 this.userRepository = userRepository;
                 this.webSocketService=webSocketService;
                 this.quoteService=quoteService;
+                this.answerService=answerService;
+                this.voteService=voteService;
+                this.gameMailboxService=gameMailboxService;
             }
 
             public void createAllRounds(Game game) {
@@ -81,6 +98,7 @@
 
 
             //stopRound
+            @RetryOnConflict
             public void stopRound(int gamePin, String userToken, int roundNumber) {
 
                 Game game = gameRepository.findByGamePin(gamePin);
@@ -98,6 +116,7 @@
                 round.setStatus(RoundStatus.FINISHED);
 
                 roundRepository.saveAndFlush(round);
+                answerService.flushBufferedAnswers(gamePin, roundNumber);
                 RoundEndDTO roundEndDTO=new RoundEndDTO();
                 roundEndDTO.setRound(game.getCurrentRound());
                 webSocketService.sendMessageToClients(Constant.DEFAULT_DESTINATION + gamePin, roundEndDTO);
@@ -114,6 +133,7 @@
                 round.setStatus(RoundStatus.RUNNING);
                 roundRepository.saveAndFlush(round);
                 gameRepository.saveAndFlush(game);
+                AnswerBufferRepository.open(gamePin, currentRound);
 
                 LetterDTO letterDTO = new LetterDTO();
                 letterDTO.setLetter(round.getLetter());
@@ -143,8 +163,8 @@
                             String logInfo = String.format("Time stopped so standard timer stopped in game: %d.", gamePin);
                             logger.info(logInfo);
                             executor.shutdown(); // Stop the executor
-                        } else if (noMoreTimeRemaining(timeLeft)) {
-                            // Finish round
+                        } else if (noMoreTimeRemaining(timeLeft) || allPlayersHaveAnswered(gamePin, game.getCurrentRound())) {
+                            // Finish round, early if every player has already submitted their answers
                             finishRoundNoTimeLeft(timeLeft, round, gamePin,game.getCurrentRound(), executor);
                             executor.shutdown();
                         } else {
@@ -153,7 +173,7 @@
                     }
                 };
 
-                executor.scheduleAtFixedRate(roundTimerTask, 5000, 1000, TimeUnit.MILLISECONDS);
+                scheduleOnMailbox(executor, gamePin, roundTimerTask, 5000);
             }
 
             public void skipRequest(int gamePin, String userToken){
@@ -179,6 +199,14 @@
             void finishRoundNoTimeLeft(int timeLeft, Round round, int gamePin,int currentRound, ScheduledExecutorService executor) {
                 round.setStatus(RoundStatus.FINISHED);
                 roundRepository.saveAndFlush(round);
+                try {
+                    answerService.flushBufferedAnswers(gamePin, currentRound);
+                }
+                catch (RuntimeException e) {
+                    // the rollback reopens the buffer, the voting starts without the buffered answers
+                    String logInfo = String.format("Could not write the buffered answers of game %d: %s", gamePin, e.getMessage());
+                    logger.error(logInfo);
+                }
                 String logInfo = String.format("timeLeft: %d.", timeLeft);
                 logger.info(logInfo);
                 RoundEndDTO roundEndDTO = new RoundEndDTO();
@@ -216,6 +244,7 @@
                         int timeLeft = remainingTime.addAndGet(-1);
                         SkipManager skipManager = SkipRepository.findByGameId(gamePin);
                         if (!isQuoteSent) {
+                            sendVotingResult(gamePin, currentVotingRound - 1);
                             scheduleSendFact(gamePin);
                             isQuoteSent = true;
                         }
@@ -244,7 +273,41 @@
                 };
 
                 // Schedule resultTimerTask to run every 1 second after an initial delay of 750 milliseconds
-                executor.scheduleAtFixedRate(resultTimerTask, 750, 1000, TimeUnit.MILLISECONDS);
+                scheduleOnMailbox(executor, gamePin, resultTimerTask, 750);
+            }
+
+            /**
+             * The answers of a category are loaded once when its voting starts and pushed to
+             * every player without their own answer, instead of every client pulling them.
+             * This runs on the first tick, so answers sent right after the round end are included.
+             */
+            void sendVotingAnswers(int gamePin, int categoryIndex) {
+                try {
+                    Map<String, VotingStartDTO> votingStartDTOs = answerService.getVotingStartDTOsOfAllUsers(gamePin, categoryIndex);
+                    for (Map.Entry<String, VotingStartDTO> entry : votingStartDTOs.entrySet()) {
+                        webSocketService.sendMessageToUser(gamePin, entry.getKey(), Constant.VOTING_QUEUE, entry.getValue());
+                    }
+                }
+                catch (ResponseStatusException e) {
+                    // the timer must keep running, clients can still fall back to the REST endpoint
+                    String logInfo = String.format("Could not push answers of game %d: %s", gamePin, e.getReason());
+                    logger.warn(logInfo);
+                }
+            }
+
+            /**
+             * The vote tally of a category is the same for every player,
+             * so it is computed once and broadcast to the lobby.
+             */
+            void sendVotingResult(int gamePin, int categoryIndex) {
+                try {
+                    VotingResultDTO votingResultDTO = voteService.getVotingResult(gamePin, categoryIndex);
+                    webSocketService.sendMessageToClients(Constant.DEFAULT_DESTINATION + gamePin, votingResultDTO);
+                }
+                catch (ResponseStatusException e) {
+                    String logInfo = String.format("Could not push voting result of game %d: %s", gamePin, e.getReason());
+                    logger.warn(logInfo);
+                }
             }
 
             private void updateResultOverviewTimer(int timeLeft, int gamePin) {
@@ -267,24 +330,72 @@
                 }
             }
 
+            /**
+             * The timer only triggers the ticks, every tick runs on the mailbox of the game,
+             * so it never interleaves with stopRound, skips or players leaving.
+             * A tick that was queued before its timer was shut down is dropped.
+             * Timers shut themselves down from a tick, a failing tick or a closed game without
+             * a mailbox shuts the timer down as well.
+             */
+            private void scheduleOnMailbox(ScheduledExecutorService executor, int gamePin, Runnable tick, long initialDelay) {
+                Runnable stopTimer = () -> GameTimerRepository.timerStopped(gamePin, executor);
+                Runnable guardedTick = () -> {
+                    if (executor.isShutdown()) {
+                        return;
+                    }
+                    try {
+                        tick.run();
+                    }
+                    catch (RuntimeException e) {
+                        String logInfo = String.format("A timer tick of game %d failed, the timer is stopped.", gamePin);
+                        logger.error(logInfo, e);
+                        executor.shutdown();
+                    }
+                    if (executor.isShutdown()) {
+                        stopTimer.run();
+                    }
+                };
+                GameTimerRepository.timerStarted(gamePin, executor);
+                executor.scheduleAtFixedRate(() -> {
+                    if (!gameMailboxService.submit(gamePin, guardedTick)) {
+                        stopTimer.run();
+                    }
+                }, initialDelay, 1000, TimeUnit.MILLISECONDS);
+            }
+
             static boolean noMoreTimeRemaining(int timeRemaining){
                 return timeRemaining<=0;
             }
 
+            static boolean allPlayersHaveAnswered(int gamePin, int roundNumber) {
+                return PhaseProgressRepository.allPlayersSubmitted(gamePin, PhaseProgressRepository.answersPhase(roundNumber));
+            }
+
+            static boolean allPlayersHaveVoted(int gamePin, int roundNumber, int categoryIndex) {
+                return PhaseProgressRepository.allPlayersSubmitted(gamePin,
+                        PhaseProgressRepository.votesPhase(roundNumber, categoryIndex));
+            }
+
             void votingTimer(int gamePin, int currentVotingRound) {
                 ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
                 Game game = gameRepository.findByGamePin(gamePin);
                 Runnable votingTimerTask = new Runnable() {
                     int timeRemaining = 30;
                     // Time remaining in seconds
+                    boolean areAnswersSent = false;
 
                     @Override
                     public void run() {
                         timeRemaining -= 1;
                         SkipManager skipManager = SkipRepository.findByGameId(gamePin);
+                        if (!areAnswersSent) {
+                            sendVotingAnswers(gamePin, currentVotingRound - 1);
+                            areAnswersSent = true;
+                        }
 
 
-                        if (noMoreTimeRemaining(timeRemaining) || skipManager.allPlayersWantToContinue()) {
+                        if (noMoreTimeRemaining(timeRemaining) || skipManager.allPlayersWantToContinue()
+                                || allPlayersHaveVoted(gamePin, game.getCurrentRound(), currentVotingRound - 1)) {
                             cleanUpSkipForNextRound(gamePin);
                             executor.shutdown(); // Stop the executor
 
@@ -309,7 +420,7 @@
                     }
                 };
 
-                executor.scheduleAtFixedRate(votingTimerTask, 2000, 1000, TimeUnit.MILLISECONDS);
+                scheduleOnMailbox(executor, gamePin, votingTimerTask, 2000);
             }
 
 
@@ -341,7 +452,7 @@
                 };
 
                 // Schedule the task to run after the specified delay, and repeat every 1 second
-                executor.scheduleAtFixedRate(task, 700, 1000, TimeUnit.MILLISECONDS);
+                scheduleOnMailbox(executor, gamePin, task, 700);
             }
             public void scheduleSendFact(int gamePin) {
                 ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
@@ -381,7 +492,7 @@
                 Game game=gameRepository.findByGamePin(gamePin);
                 game.setStatus(GameStatus.CLOSED);
                 gameRepository.saveAndFlush(game);
-                SkipRepository.removeSkipManager(gamePin);
+                releaseGameState(gamePin);
             }
 
 
@@ -3,14 +3,12 @@ package ch.uzh.ifi.hase.soprafs23.service;
 import ch.uzh.ifi.hase.soprafs23.constant.ScorePoint;
 import ch.uzh.ifi.hase.soprafs23.constant.VoteOption;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
-import ch.uzh.ifi.hase.soprafs23.entity.game.Answer;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
-import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Vote;
 import ch.uzh.ifi.hase.soprafs23.repository.AnswerRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
-import ch.uzh.ifi.hase.soprafs23.repository.RoundRepository;
-import ch.uzh.ifi.hase.soprafs23.repository.VoteRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.AnswerScoreView;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.VoteCounters;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -23,39 +21,38 @@ import java.util.Map;
 @Transactional
 public class ScoreCalculationService {
 
-    @Autowired
-    private VoteRepository voteRepository;
-
     @Autowired
     private GameRepository gameRepository;
 
-    @Autowired
-    private RoundRepository roundRepository;
-
     @Autowired
     private AnswerRepository answerRepository;
 
+    /**
+     * The answers of all rounds are scored from their vote counters, read with one query.
+     */
     public Map<User, Integer> calculateUserScores(int gamePin) {
         Game game = gameRepository.findByGamePin(gamePin);
-        List<Round> rounds = roundRepository.findByGame(game);
 
         Map<User, Integer> userScores = new HashMap<>();
 
-        for (Round round : rounds) {
-            List<Answer> answers = answerRepository.findByRound(round);
-            for (Answer answer : answers) {
-                List<Vote> votesForAnswer = voteRepository.findByAnswer(answer);
-                int answerScore = calculateScore(votesForAnswer);
-                User user = answer.getUser();
+        for (AnswerScoreView answer : answerRepository.findScoresByGame(game)) {
+            int answerScore = calculateScore(answer);
 
-                // If user already has a score, add to it, else put the current answer score
-                userScores.merge(user, answerScore, Integer::sum);
-            }
+            // If user already has a score, add to it, else put the current answer score
+            userScores.merge(answer.getUser(), answerScore, Integer::sum);
         }
 
         return userScores;
     }
 
+    public static int calculateScore(VoteCounters counters) {
+        return calculatePoints(counters.getCorrectUniqueVotes(), counters.getCorrectNotUniqueVotes(),
+                counters.getWrongVotes());
+    }
+
+    /**
+     * Scores an answer from votes that are already loaded, the votes an answer gave itself are not counted.
+     */
     public static int calculateScore(List<Vote> votesForAnswer) {
         int numberOfUnique = 0;
         int numberOfNotUnique = 0;
@@ -63,6 +60,9 @@ public class ScoreCalculationService {
 
 
         for (Vote vote : votesForAnswer) {
+            if (vote.getUser().getId() == vote.getAnswer().getUser().getId()) {
+                continue;
+            }
             if (vote.getVotedOption().equals(VoteOption.CORRECT_UNIQUE)) {
                 numberOfUnique++;
             } else if (vote.getVotedOption().equals(VoteOption.CORRECT_NOT_UNIQUE)) {
@@ -75,7 +75,7 @@ public class ScoreCalculationService {
         return calculatePoints(numberOfUnique, numberOfNotUnique, numberOfWrong);
     }
 
-    private static int calculatePoints(int numberOfUnique, int numberOfNotUnique, int numberOfWrong) {
+    public static int calculatePoints(int numberOfUnique, int numberOfNotUnique, int numberOfWrong) {
         int numberOfCorrect = numberOfUnique + numberOfNotUnique;
 
         if (numberOfCorrect >= numberOfWrong) {
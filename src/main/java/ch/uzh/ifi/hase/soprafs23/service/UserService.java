@@ -1,12 +1,19 @@
 package ch.uzh.ifi.hase.soprafs23.service;
 
 import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.helper.PaginationHelper;
 import ch.uzh.ifi.hase.soprafs23.helper.UserHelper;
 import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.UsernameFilterRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +23,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 /**
@@ -38,11 +47,21 @@ public class UserService {
         this.userRepository = userRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsers() {
         return this.userRepository.findAll();
     }
 
-    public synchronized User createAndReturnUser(User newUser) {
+    @Transactional(readOnly = true)
+    public List<UserView> getUserViews() {
+        return this.userRepository.findAllProjectedBy();
+    }
+
+    /**
+     * The uniqueness of the username is left to the unique constraint of USER.username,
+     * so concurrent registrations do not need a lock and cannot both get the same name.
+     */
+    public User createAndReturnUser(User newUser) {
         if (newUser.getUsername().length()>10) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"Your username exceeds 10 character");
         }
@@ -50,21 +69,48 @@ public class UserService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Your password is too long");
         }
         newUser.setToken(UUID.randomUUID().toString());
-        checkIfUsernameAlreadyExists(newUser);
         checkIfUsernameValid(newUser);
         newUser.setCreationDate((LocalDate.now()));
         newUser.setQuote("here could be your winner quote");
 
         // saves the given entity but data is only persisted in the database once
         // flush() is called
-        newUser = userRepository.save(newUser);
-        userRepository.flush();
+        try {
+            newUser = userRepository.save(newUser);
+            userRepository.flush();
+        }
+        catch (DataIntegrityViolationException e) {
+            // the only other unique column is the random token
+            throw usernameNotUniqueException();
+        }
+        UsernameFilterRepository.add(newUser.getUsername());
 
         logger.debug("Created Information for User: {}", newUser);
         return newUser;
 
     }
 
+    /**
+     * A username the Bloom filter has never seen is free without asking the database,
+     * only the usernames it might contain are confirmed by the unique index.
+     */
+    @Transactional(readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        if (!UsernameFilterRepository.mightContain(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildUsernameFilter() {
+        try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+            UsernameFilterRepository.rebuild(usernames);
+        }
+        logger.info("Rebuilt the username filter");
+    }
+
     public User logIn(User userLogin){
         User userByUsername = userRepository.findByUsername(userLogin.getUsername());
         String notExist = "This username doesn't exist";
@@ -81,10 +127,41 @@ public class UserService {
 
     }
 
+    @Transactional(readOnly = true)
+    public List<UserView> getUserViewPage(Integer cursor, int limit) {
+        PaginationHelper.checkIfPageLimitValid(limit);
+
+        int afterId = cursor == null ? 0 : cursor;
+        return this.userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Hands the users to the consumer one at a time while the result set is read.
+     */
+    @Transactional(readOnly = true)
+    public void streamUserViews(Consumer<UserView> consumer) {
+        try (Stream<UserView> users = this.userRepository.streamAllByOrderByIdAsc()) {
+            users.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public User getUserById(int id) {
         return userRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
     }
 
+    @Transactional(readOnly = true)
+    public UserView getUserViewById(int id) {
+        return userRepository.findViewById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    public User getUserByToken(String userToken) {
+        User user = userRepository.findByToken(userToken);
+        UserHelper.checkIfUserExists(user);
+        return user;
+    }
+
+    @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         User user = userRepository.findByUsername(username);
         if (user == null) {
@@ -93,7 +170,11 @@ public class UserService {
         return user;
     }
 
-    public synchronized User editUserQuote(int userId, User editedUser, String userToken) {
+    /**
+     * Only the quote column is updated, and the database locks the row of the user while doing so,
+     * so edits of different users run in parallel and edits of the same user cannot lose other fields.
+     */
+    public User editUserQuote(int userId, User editedUser, String userToken) {
 
         User userDB = userRepository.findById(userId).orElse(null);
 
@@ -110,25 +191,16 @@ public class UserService {
     }
 
     /**
-    * This is a helper method that will check the uniqueness criteria of the
-    * username and the name
-    * defined in the User entity. The method will do nothing if the input is unique
-    * and throw an error otherwise.
+    * This is a helper method that creates the error for a username violating the
+    * uniqueness criteria defined in the User entity.
     *
-    * @param userToBeCreated
-    * @throws org.springframework.web.server.ResponseStatusException
     * @see User
     */
-    private void checkIfUsernameAlreadyExists(User userToBeCreated) {
-
-        User userByUsername = userRepository.findByUsername(userToBeCreated.getUsername());
+    private static ResponseStatusException usernameNotUniqueException() {
 
         String baseErrorMessage = "The username provided is not unique. Therefore, the user could not be created or updated!";
 
-        if (userByUsername != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT,
-                    String.format(baseErrorMessage));
-        }
+        return new ResponseStatusException(HttpStatus.CONFLICT, baseErrorMessage);
     }
 
     void checkIfUsernameValid(User userToBeCreated) {
@@ -0,0 +1,33 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically verifies the vote counters of the answers against the votes they were counted from.
+ * The counters are only incremented together with the vote they count, so a drift points to a bug
+ * or a manual change and is logged by the service.
+ */
+@Component
+public class VoteCounterReconciliationJob {
+
+    private final Logger log = LoggerFactory.getLogger(VoteCounterReconciliationJob.class);
+
+    private final VoteService voteService;
+
+    VoteCounterReconciliationJob(VoteService voteService) {
+        this.voteService = voteService;
+    }
+
+    @Scheduled(fixedDelayString = "${vote.counters.reconcile-fixed-delay-ms:3600000}")
+    public void reconcileVoteCounters() {
+        try {
+            voteService.reconcileVoteCounters();
+        }
+        catch (RuntimeException e) {
+            log.warn("Reconciling the vote counters failed.", e);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package ch.uzh.ifi.hase.soprafs23.service;
 
-import ch.uzh.ifi.hase.soprafs23.constant.ScorePoint;
 import ch.uzh.ifi.hase.soprafs23.constant.VoteOption;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.*;
+import ch.uzh.ifi.hase.soprafs23.helper.VoteHelper;
 import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.AnswerTallyView;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.CategoryVotesGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundVotesGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.VotingResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
@@ -27,6 +33,8 @@ import static ch.uzh.ifi.hase.soprafs23.helper.UserHelper.*;
 @Transactional
 public class VoteService {
 
+    private final Logger log = LoggerFactory.getLogger(VoteService.class);
+
     private final UserRepository userRepository;
     private final GameRepository gameRepository;
     private final AnswerRepository answerRepository;
@@ -55,7 +63,7 @@ public class VoteService {
 
     public void saveVote(int gamePin, String categoryName, String userToken, Map<Integer, String> votings) {
 
-        Game game = gameRepository.findByGamePin(gamePin);
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
         User user = userRepository.findByToken(userToken);
 
         checkIfGameExists(game);
@@ -63,27 +71,56 @@ public class VoteService {
 
         checkIfUserIsInGame(game, user);
 
+        // the answers and the earlier votes of the user are loaded with one query each, not per vote
+        Map<Integer, Answer> answersById = getAnswersById(votings.keySet());
+        Map<Integer, Vote> votesByAnswerId = getVotesByAnswerId(user, answersById.values());
+
+        Set<RoundCacheKey> changedKeys = new HashSet<>();
+        Set<Integer> authorsToJudge = null;
+
         for (Map.Entry<Integer, String> voting : votings.entrySet()) {
 
             int answerId = voting.getKey();
-            Answer answer = getAnswerById(answerId);
+            Answer answer = answersById.get(answerId);
 
             checkIfCategoryMatches(answer, categoryName);
 
+            if (game.hasSampledVoting()) {
+                if (authorsToJudge == null) {
+                    authorsToJudge = getAuthorsToJudge(game, answer.getRound(), answer.getCategory(), user);
+                }
+                checkIfAnswerIsToJudge(answer, authorsToJudge);
+            }
+
             String votingString = voting.getValue();
 
-            Vote vote = voteRepository.findByUserAndAnswer(user, answer);
+            Vote vote = votesByAnswerId.get(answerId);
 
             checkIfAnswerAndVoteExists(answer, vote);
 
             saveVoting(answer, user, votingString);
 
+            changedKeys.add(new RoundCacheKey(gamePin, answer.getRound().getRoundNumber(), categoryName));
+        }
+
+        for (RoundCacheKey changedKey : changedKeys) {
+            RoundCacheRepository.invalidateAfterCommit(changedKey);
+        }
+        GameActivityRepository.touch(gamePin);
+
+        List<Category> categories = game.getCategories();
+        for (int categoryIndex = 0; categoryIndex < categories.size(); categoryIndex++) {
+            if (categories.get(categoryIndex).getName().equals(categoryName)) {
+                PhaseProgressRepository.markSubmittedAfterCommit(gamePin,
+                        PhaseProgressRepository.votesPhase(game.getCurrentRound(), categoryIndex), user.getId());
+            }
         }
     }
 
+    @Transactional(readOnly = true)
     public List<VoteGetDTO> getVotes(int gamePin, int roundNumber, String categoryName, String userToken) {
 
-        Game game = gameRepository.findByGamePin(gamePin);
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
         Round round = roundRepository.findByGameAndRoundNumber(game, roundNumber);
         Category category = categoryRepository.findByName(categoryName);
         User requestUser = userRepository.findByToken(userToken);
@@ -94,86 +131,160 @@ public class VoteService {
         checkIfUserExists(requestUser);
         checkIfUserIsInGame(game, requestUser);
 
-        List<User> users = game.getActiveUsers();
-
-        return getVoteGetDTOList(round, category, users);
+        return findCachedVoteGetDTOList(gamePin, round, category, game);
 
     }
 
-    private List<VoteGetDTO> getVoteGetDTOList(Round round, Category category, List<User> users) {
-
-        List<VoteGetDTO> voteGetDTOList = new ArrayList<>();
+    /**
+     * Returns the vote tallies of all categories of a round. The request is validated once and the
+     * counters of all answers of active users are read with a single query, like getVotes does.
+     */
+    @Transactional(readOnly = true)
+    public RoundVotesGetDTO getRoundVotes(int gamePin, int roundNumber, String userToken) {
 
-        for (User user : users) {
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
+        Round round = roundRepository.findByGameAndRoundNumber(game, roundNumber);
+        User requestUser = userRepository.findByToken(userToken);
 
-            Answer answer = answerRepository.findByRoundAndCategoryAndUser(round, category, user);
-            if (answer !=null) {
+        checkIfGameExists(game);
+        checkIfRoundExists(round);
+        checkIfUserExists(requestUser);
+        checkIfUserIsInGame(game, requestUser);
 
-            List<User> allUsersFiltered = new ArrayList<>(users);
-            allUsersFiltered.remove(user);
+        Set<String> activeUsernames = getActiveUsernames(game);
 
-            VoteGetDTO newVoteGetDTO = createVoteGetDTO(user.getUsername(), allUsersFiltered, answer);
-            voteGetDTOList.add(newVoteGetDTO);
+        Map<String, List<AnswerTallyView>> talliesByCategoryName = new HashMap<>();
+        for (AnswerTallyView tally : answerRepository.findTalliesByRound(round)) {
+            if (activeUsernames.contains(tally.getUsername())) {
+                talliesByCategoryName.computeIfAbsent(tally.getCategoryName(), name -> new ArrayList<>()).add(tally);
             }
         }
 
-        return voteGetDTOList;
+        List<CategoryVotesGetDTO> categoryVotesGetDTOs = new ArrayList<>();
+        for (Category category : game.getCategories()) {
+            List<AnswerTallyView> tallies = talliesByCategoryName.getOrDefault(category.getName(), List.of());
+            categoryVotesGetDTOs.add(createCategoryVotesGetDTO(category.getName(), tallies));
+        }
 
+        RoundVotesGetDTO roundVotesGetDTO = new RoundVotesGetDTO();
+        roundVotesGetDTO.setRound(round.getRoundNumber());
+        roundVotesGetDTO.setCategories(categoryVotesGetDTOs);
+        return roundVotesGetDTO;
     }
 
-    private VoteGetDTO createVoteGetDTO(String username, List<User> allUsersFiltered, Answer answer) {
-        int numberOfUnique = 0;
-        int numberOfNotUnique = 0;
-        int numberOfWrong = 0;
-        int numberOfNoVote = 0;
+    /**
+     * Compares the vote counters of all answers with their votes and recounts the answers that drifted,
+     * for example because a counter was changed by hand. A vote saved while an answer is recounted can
+     * make it drift again, the next run repairs that.
+     *
+     * @return the number of recounted answers
+     */
+    public int reconcileVoteCounters() {
+        List<Integer> driftedAnswerIds = answerRepository.findIdsWithDriftedVoteCounters();
+        if (driftedAnswerIds.isEmpty()) {
+            return 0;
+        }
 
-        VoteGetDTO voteGetDTO = new VoteGetDTO();
-        voteGetDTO.setUsername(username);
-        voteGetDTO.setAnswerString(answer.getAnswerString());
+        answerRepository.recountVoteCounters(driftedAnswerIds);
+        log.warn("Recounted the vote counters of {} answers: {}", driftedAnswerIds.size(), driftedAnswerIds);
+        return driftedAnswerIds.size();
+    }
 
-        for (User user : allUsersFiltered) {
+    public VotingResultDTO getVotingResult(int gamePin, int categoryIndex) {
 
-            Vote vote = voteRepository.findByUserAndAnswer(user, answer);
+        Game game = gameRepository.findByGamePinWithParticipants(gamePin);
+        checkIfGameExists(game);
 
-            if (vote != null) {
-                if (vote.getVotedOption().equals(VoteOption.CORRECT_UNIQUE)) {
-                    numberOfUnique++;
-                }
-                else if (vote.getVotedOption().equals(VoteOption.CORRECT_NOT_UNIQUE)) {
-                    numberOfNotUnique++;
-                }
-                else if (vote.getVotedOption().equals(VoteOption.WRONG)) {
-                    numberOfWrong++;
-                }
-                else {
-                    numberOfNoVote++;
-                }
+        Round round = roundRepository.findByGameAndRoundNumber(game, game.getCurrentRound());
+        checkIfRoundExists(round);
+
+        Category category = getCategoryByIndex(game, categoryIndex);
+
+        VotingResultDTO votingResultDTO = new VotingResultDTO();
+        votingResultDTO.setRound(round.getRoundNumber());
+        votingResultDTO.setCategoryIndex(categoryIndex);
+        votingResultDTO.setVotes(findCachedVoteGetDTOList(gamePin, round, category, game));
+
+        return votingResultDTO;
+    }
+
+    private List<VoteGetDTO> findCachedVoteGetDTOList(int gamePin, Round round, Category category, Game game) {
+        RoundCacheKey key = new RoundCacheKey(gamePin, round.getRoundNumber(), category.getName());
+
+        return RoundCacheRepository.findVotes(key,
+                () -> Collections.unmodifiableList(getVoteGetDTOList(round, category, getActiveUsernames(game))));
+    }
+
+    /**
+     * The tallies are read from the counters of the answers with one query, only answers of active users
+     * are shown. Votes of players who have left still count, like in the score of the game.
+     */
+    private List<VoteGetDTO> getVoteGetDTOList(Round round, Category category, Set<String> activeUsernames) {
+
+        List<VoteGetDTO> voteGetDTOList = new ArrayList<>();
+
+        for (AnswerTallyView tally : answerRepository.findTalliesByRoundAndCategory(round, category)) {
+            if (activeUsernames.contains(tally.getUsername())) {
+                voteGetDTOList.add(createVoteGetDTO(tally));
             }
         }
 
-        voteGetDTO.setNumberOfUnique(numberOfUnique);
-        voteGetDTO.setNumberOfNotUnique(numberOfNotUnique);
-        voteGetDTO.setNumberOfWrong(numberOfWrong);
-        voteGetDTO.setNumberOfNoVote(numberOfNoVote);
+        return voteGetDTOList;
+    }
+
+    private VoteGetDTO createVoteGetDTO(AnswerTallyView tally) {
 
-        voteGetDTO.setPoints(calculatePoints(numberOfUnique, numberOfNotUnique, numberOfWrong));
+        VoteGetDTO voteGetDTO = new VoteGetDTO();
+        voteGetDTO.setUsername(tally.getUsername());
+        voteGetDTO.setAnswerString(tally.getAnswerString());
+        voteGetDTO.setNumberOfUnique(tally.getCorrectUniqueVotes());
+        voteGetDTO.setNumberOfNotUnique(tally.getCorrectNotUniqueVotes());
+        voteGetDTO.setNumberOfWrong(tally.getWrongVotes());
+        voteGetDTO.setNumberOfNoVote(tally.getNoVotes());
+        voteGetDTO.setPoints(ScoreCalculationService.calculateScore(tally));
 
         return voteGetDTO;
     }
 
-    private int calculatePoints(int numberOfUnique, int numberOfNotUnique, int numberOfWrong) {
+    private CategoryVotesGetDTO createCategoryVotesGetDTO(String categoryName, List<AnswerTallyView> tallies) {
+        int size = tallies.size();
+        String[] usernames = new String[size];
+        String[] answerStrings = new String[size];
+        int[] numberOfUnique = new int[size];
+        int[] numberOfNotUnique = new int[size];
+        int[] numberOfWrong = new int[size];
+        int[] numberOfNoVote = new int[size];
+        int[] points = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            AnswerTallyView tally = tallies.get(i);
+            usernames[i] = tally.getUsername();
+            answerStrings[i] = tally.getAnswerString();
+            numberOfUnique[i] = tally.getCorrectUniqueVotes();
+            numberOfNotUnique[i] = tally.getCorrectNotUniqueVotes();
+            numberOfWrong[i] = tally.getWrongVotes();
+            numberOfNoVote[i] = tally.getNoVotes();
+            points[i] = ScoreCalculationService.calculateScore(tally);
+        }
 
-        int numberOfCorrect = numberOfUnique + numberOfNotUnique;
+        CategoryVotesGetDTO categoryVotesGetDTO = new CategoryVotesGetDTO();
+        categoryVotesGetDTO.setCategoryName(categoryName);
+        categoryVotesGetDTO.setUsernames(usernames);
+        categoryVotesGetDTO.setAnswerStrings(answerStrings);
+        categoryVotesGetDTO.setNumberOfUnique(numberOfUnique);
+        categoryVotesGetDTO.setNumberOfNotUnique(numberOfNotUnique);
+        categoryVotesGetDTO.setNumberOfWrong(numberOfWrong);
+        categoryVotesGetDTO.setNumberOfNoVote(numberOfNoVote);
+        categoryVotesGetDTO.setPoints(points);
+        return categoryVotesGetDTO;
+    }
 
-        if (numberOfCorrect >= numberOfWrong) {
-            if (numberOfUnique >= numberOfNotUnique) {
-                return ScorePoint.CORRECT_UNIQUE.getPoints();
-            } else {
-                return ScorePoint.CORRECT_NOT_UNIQUE.getPoints();
-            }
-        } else {
-            return ScorePoint.INCORRECT.getPoints();
+    private static Set<String> getActiveUsernames(Game game) {
+        Set<String> activeUsernames = new HashSet<>();
+        for (User user : game.getActiveUsers()) {
+            activeUsernames.add(user.getUsername());
         }
+        return activeUsernames;
     }
 
     private void checkIfCategoryMatches(Answer answer, String categoryName) {
@@ -185,8 +296,38 @@ public class VoteService {
         }
     }
 
-    private Answer getAnswerById(int answerId) {
-        return answerRepository.findById(answerId);
+    private Set<Integer> getAuthorsToJudge(Game game, Round round, Category category, User user) {
+        Set<Integer> authorIds = new HashSet<>(answerRepository.findUserIdsByRoundAndCategory(round, category));
+        return VoteHelper.getAuthorsToJudge(authorIds, user.getId(), game.getVotesPerAnswer(),
+                game.getGamePin(), round.getRoundNumber(), category.getName());
+    }
+
+    private void checkIfAnswerIsToJudge(Answer answer, Set<Integer> authorsToJudge) {
+
+        String errorMessage = "You are not asked to judge this answer.";
+
+        if (!authorsToJudge.contains(answer.getUser().getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, errorMessage);
+        }
+    }
+
+    private Map<Integer, Answer> getAnswersById(Set<Integer> answerIds) {
+        Map<Integer, Answer> answersById = new HashMap<>();
+        for (Answer answer : answerRepository.findAllById(answerIds)) {
+            answersById.put(answer.getAnswerId(), answer);
+        }
+        return answersById;
+    }
+
+    private Map<Integer, Vote> getVotesByAnswerId(User user, Collection<Answer> answers) {
+        Map<Integer, Vote> votesByAnswerId = new HashMap<>();
+        if (answers.isEmpty()) {
+            return votesByAnswerId;
+        }
+        for (Vote vote : voteRepository.findByUserAndAnswerIn(user, answers)) {
+            votesByAnswerId.put(vote.getAnswer().getAnswerId(), vote);
+        }
+        return votesByAnswerId;
     }
 
     private void checkIfAnswerAndVoteExists(Answer answer, Vote vote) {
@@ -206,6 +347,10 @@ public class VoteService {
             setVoteOption(newVote, votingString);
         }
         voteRepository.saveAndFlush(newVote);
+        // the counters only hold the votes of the other players, like the tallies always showed them
+        if (answer.getUser().getId() != user.getId()) {
+            answerRepository.incrementVoteCounter(answer.getAnswerId(), newVote.getVotedOption().name());
+        }
     }
 
     private static void setVoteOption(Vote newVote, String vote) {
@@ -1,5 +1,9 @@
 package ch.uzh.ifi.hase.soprafs23.service;
 
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.game.MessageLog;
+import ch.uzh.ifi.hase.soprafs23.repository.GameActivityRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.MessageLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +11,9 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 @Transactional
 public class WebSocketService {
@@ -15,10 +22,71 @@ public class WebSocketService {
     Logger logger = LoggerFactory.getLogger(WebSocketService.class);
 
     public void sendMessageToClients(String destination, Object dto) {
-        this.simpMessagingTemplate.convertAndSend(destination, dto);
+        Optional<Integer> gamePin = findGamePin(destination);
+        gamePin.ifPresent(GameActivityRepository::touch);
+
+        Optional<MessageLog> messageLog = gamePin.flatMap(MessageLogRepository::findOptionalByGamePin);
+
+        if (messageLog.isPresent()) {
+            sendSequencedMessage(destination, dto, messageLog.get());
+        }
+        else {
+            this.simpMessagingTemplate.convertAndSend(destination, dto);
+        }
 
         String logInfo = String.format("Msg sent off to: %s", destination);
         logger.info(logInfo);
     }
 
+    public void sendMessageToUser(String username, String destination, Object dto) {
+        this.simpMessagingTemplate.convertAndSendToUser(username, destination, dto);
+
+        String logInfo = String.format("Msg sent off to user %s at: %s", username, destination);
+        logger.info(logInfo);
+    }
+
+    /**
+     * Personal messages of a lobby are logged with their recipient, so a resume can replay them to that user.
+     */
+    public void sendMessageToUser(int gamePin, String username, String destination, Object dto) {
+        Optional<MessageLog> messageLog = MessageLogRepository.findOptionalByGamePin(gamePin);
+
+        if (messageLog.isEmpty()) {
+            sendMessageToUser(username, destination, dto);
+            return;
+        }
+        synchronized (messageLog.get()) {
+            long sequence = messageLog.get().append(dto, username);
+            Map<String, Object> headers = Map.of(Constant.SEQUENCE_HEADER, sequence);
+            this.simpMessagingTemplate.convertAndSendToUser(username, destination, dto, headers);
+        }
+
+        String logInfo = String.format("Msg sent off to user %s at: %s", username, destination);
+        logger.info(logInfo);
+    }
+
+    /**
+     * Appending to the log and sending happen under the same lock,
+     * so clients receive the messages of a lobby in sequence order.
+     */
+    private void sendSequencedMessage(String destination, Object dto, MessageLog messageLog) {
+        synchronized (messageLog) {
+            long sequence = messageLog.append(dto);
+            Map<String, Object> headers = Map.of(Constant.SEQUENCE_HEADER, sequence);
+            this.simpMessagingTemplate.convertAndSend(destination, dto, headers);
+        }
+    }
+
+    private static Optional<Integer> findGamePin(String destination) {
+        if (destination == null || !destination.startsWith(Constant.DEFAULT_DESTINATION)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(destination.substring(Constant.DEFAULT_DESTINATION.length())));
+        }
+        catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
 }
@@ -0,0 +1,19 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto;
+
+public class AckDTO {
+    public static final String TYPE = "ack";
+
+    public String getType(){
+        return TYPE;
+    }
+
+    private String action;
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+}
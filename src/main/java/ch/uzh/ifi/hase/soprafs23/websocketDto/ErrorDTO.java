@@ -0,0 +1,28 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto;
+
+public class ErrorDTO {
+    public static final String TYPE = "error";
+
+    public String getType(){
+        return TYPE;
+    }
+
+    private int status;
+    private String message;
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,39 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto;
+
+import java.util.List;
+
+public class ResumeDTO {
+    public static final String TYPE = "resume";
+
+    public String getType(){
+        return TYPE;
+    }
+
+    private long lastSequence;
+    private boolean complete;
+    private List<SequencedMessageDTO> messages;
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public List<SequencedMessageDTO> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<SequencedMessageDTO> messages) {
+        this.messages = messages;
+    }
+}
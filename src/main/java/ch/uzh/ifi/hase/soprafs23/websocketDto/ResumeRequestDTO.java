@@ -0,0 +1,13 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto;
+
+public class ResumeRequestDTO {
+    private long lastSequence;
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+}
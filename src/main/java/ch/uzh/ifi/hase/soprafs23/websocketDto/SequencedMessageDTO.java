@@ -0,0 +1,22 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto;
+
+public class SequencedMessageDTO {
+    private long sequence;
+    private Object payload;
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Object payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,41 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto;
+
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
+
+import java.util.List;
+
+public class VotingResultDTO {
+    public static final String TYPE = "votingResult";
+
+    public String getType(){
+        return TYPE;
+    }
+
+    private int round;
+    private int categoryIndex;
+    private List<VoteGetDTO> votes;
+
+    public int getRound() {
+        return round;
+    }
+
+    public void setRound(int round) {
+        this.round = round;
+    }
+
+    public int getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    public void setCategoryIndex(int categoryIndex) {
+        this.categoryIndex = categoryIndex;
+    }
+
+    public List<VoteGetDTO> getVotes() {
+        return votes;
+    }
+
+    public void setVotes(List<VoteGetDTO> votes) {
+        this.votes = votes;
+    }
+}
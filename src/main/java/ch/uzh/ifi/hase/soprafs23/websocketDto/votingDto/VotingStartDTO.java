@@ -0,0 +1,61 @@
+package ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto;
+
+import java.util.List;
+import java.util.Map;
+
+public class VotingStartDTO {
+    public static final String TYPE = "votingStart";
+
+    public String getType(){
+        return TYPE;
+    }
+
+    private int round;
+    private int categoryIndex;
+    private String categoryName;
+    private List<Map<Integer, String>> answers;
+    private Map<Integer, String> suggestions;
+
+    public int getRound() {
+        return round;
+    }
+
+    public void setRound(int round) {
+        this.round = round;
+    }
+
+    public int getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    public void setCategoryIndex(int categoryIndex) {
+        this.categoryIndex = categoryIndex;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public List<Map<Integer, String>> getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(List<Map<Integer, String>> answers) {
+        this.answers = answers;
+    }
+
+    /**
+     * The vote option pre-selected for each answer id, based on duplicates among the normalized answers.
+     */
+    public Map<Integer, String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(Map<Integer, String> suggestions) {
+        this.suggestions = suggestions;
+    }
+}
@@ -0,0 +1,90 @@
+-- Schema as previously generated by Hibernate from the entities
+
+CREATE TABLE user (
+    user_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    creation_date DATE NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    quote VARCHAR(255) NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_user_username UNIQUE (username),
+    CONSTRAINT uk_user_token UNIQUE (token)
+);
+
+CREATE TABLE category (
+    category_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (category_id),
+    CONSTRAINT uk_category_name UNIQUE (name)
+);
+
+CREATE TABLE game (
+    game_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    current_round INTEGER NOT NULL,
+    game_pin INTEGER NOT NULL,
+    host_id INTEGER NOT NULL,
+    number_of_categories INTEGER NOT NULL,
+    round_amount INTEGER NOT NULL,
+    round_length INTEGER NOT NULL,
+    status INTEGER NOT NULL,
+    PRIMARY KEY (game_id),
+    CONSTRAINT uk_game_game_pin UNIQUE (game_pin)
+);
+
+CREATE TABLE game_round_letters (
+    game_game_id INTEGER NOT NULL,
+    round_letters CHAR(1),
+    round_letters_order INTEGER NOT NULL,
+    PRIMARY KEY (game_game_id, round_letters_order),
+    CONSTRAINT fk_game_round_letters_game FOREIGN KEY (game_game_id) REFERENCES game (game_id)
+);
+
+CREATE TABLE game_category (
+    game_id INTEGER NOT NULL,
+    category_id INTEGER NOT NULL,
+    CONSTRAINT fk_game_category_game FOREIGN KEY (game_id) REFERENCES game (game_id),
+    CONSTRAINT fk_game_category_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+);
+
+CREATE TABLE game_participant (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    participant_status INTEGER,
+    game_id INTEGER,
+    user_id INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_game_participant_game FOREIGN KEY (game_id) REFERENCES game (game_id),
+    CONSTRAINT fk_game_participant_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+);
+
+CREATE TABLE round (
+    round_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    letter CHAR(1) NOT NULL,
+    round_number INTEGER NOT NULL,
+    status INTEGER NOT NULL,
+    game_id INTEGER NOT NULL,
+    PRIMARY KEY (round_id),
+    CONSTRAINT fk_round_game FOREIGN KEY (game_id) REFERENCES game (game_id)
+);
+
+CREATE TABLE answer (
+    answer_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    answer_string VARCHAR(255) NOT NULL,
+    category_id INTEGER NOT NULL,
+    round_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    PRIMARY KEY (answer_id),
+    CONSTRAINT fk_answer_category FOREIGN KEY (category_id) REFERENCES category (category_id),
+    CONSTRAINT fk_answer_round FOREIGN KEY (round_id) REFERENCES round (round_id),
+    CONSTRAINT fk_answer_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+);
+
+CREATE TABLE vote (
+    vote_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    voted_option INTEGER NOT NULL,
+    answer_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    PRIMARY KEY (vote_id),
+    CONSTRAINT fk_vote_answer FOREIGN KEY (answer_id) REFERENCES answer (answer_id),
+    CONSTRAINT fk_vote_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+);
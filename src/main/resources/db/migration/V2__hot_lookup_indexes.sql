@@ -0,0 +1,12 @@
+-- Indexes for the lookups the services run on every round, see QueryPlanIntegrationTest
+
+CREATE INDEX idx_answer_round_category_user ON answer (round_id, category_id, user_id);
+
+CREATE INDEX idx_vote_answer ON vote (answer_id);
+CREATE INDEX idx_vote_user_answer ON vote (user_id, answer_id);
+
+CREATE INDEX idx_round_game_round_number ON round (game_id, round_number);
+
+CREATE INDEX idx_game_status ON game (status);
+
+CREATE INDEX idx_game_participant_user_status ON game_participant (user_id, participant_status);
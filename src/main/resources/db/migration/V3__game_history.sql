@@ -0,0 +1,32 @@
+-- Closed games are moved from the live tables into the history tables by the GameArchiveJob
+
+ALTER TABLE game ADD COLUMN closed_at TIMESTAMP;
+UPDATE game SET closed_at = CURRENT_TIMESTAMP WHERE status = 2;
+
+CREATE INDEX idx_game_status_closed_at ON game (status, closed_at);
+
+CREATE TABLE game_history (
+    game_history_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    game_pin INTEGER NOT NULL,
+    host_id INTEGER NOT NULL,
+    round_amount INTEGER NOT NULL,
+    closed_at TIMESTAMP NOT NULL,
+    category_names VARCHAR(2048) NOT NULL,
+    rounds CLOB NOT NULL,
+    PRIMARY KEY (game_history_id)
+);
+
+CREATE TABLE game_history_score (
+    game_history_score_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    game_history_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    score INTEGER NOT NULL,
+    answer_count INTEGER NOT NULL,
+    correct_unique_answer_count INTEGER NOT NULL,
+    result INTEGER,
+    PRIMARY KEY (game_history_score_id),
+    CONSTRAINT fk_game_history_score_game_history FOREIGN KEY (game_history_id) REFERENCES game_history (game_history_id),
+    CONSTRAINT fk_game_history_score_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+);
+
+CREATE INDEX idx_game_history_score_user ON game_history_score (user_id);
@@ -0,0 +1,4 @@
+-- Version columns for the optimistic locking of games and rounds
+
+ALTER TABLE game ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE round ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- Player cap per game and the number of peers judging every answer when voting is sampled (0 = every player)
+
+ALTER TABLE game ADD COLUMN max_players INTEGER DEFAULT 10 NOT NULL;
+ALTER TABLE game ADD COLUMN votes_per_answer INTEGER DEFAULT 0 NOT NULL;
+
+-- Vote tallies of every answer, incremented in place with every vote
+
+ALTER TABLE answer ADD COLUMN correct_unique_votes INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE answer ADD COLUMN correct_not_unique_votes INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE answer ADD COLUMN wrong_votes INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE answer ADD COLUMN no_votes INTEGER DEFAULT 0 NOT NULL;
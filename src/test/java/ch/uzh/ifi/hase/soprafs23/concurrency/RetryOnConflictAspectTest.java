@@ -0,0 +1,81 @@
+package ch.uzh.ifi.hase.soprafs23.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryOnConflictAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictingLobby lobby;
+    private ConflictingLobby proxy;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        lobby = new ConflictingLobby();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(lobby);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RetryOnConflictAspect(meterRegistry));
+        proxy = proxyFactory.getProxy();
+    }
+
+    @Test
+    void retry_conflictThenSuccess_returnsResult() {
+        lobby.conflicts = 2;
+
+        assertEquals("joined", proxy.join());
+        assertEquals(3, lobby.calls);
+        assertEquals(3, count("game.lock.attempts"));
+        assertEquals(2, count("game.lock.conflicts"));
+        assertEquals(0, count("game.lock.failures"));
+    }
+
+    @Test
+    void retry_conflictOnEveryAttempt_throwsConflict() {
+        lobby.conflicts = 5;
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> proxy.join());
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(3, lobby.calls);
+        assertEquals(1, count("game.lock.failures"));
+    }
+
+    @Test
+    void retry_otherException_isNotRetried() {
+        assertThrows(IllegalStateException.class, () -> proxy.leave());
+        assertEquals(1, lobby.calls);
+    }
+
+    private double count(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    static class ConflictingLobby {
+        int conflicts;
+        int calls;
+
+        @RetryOnConflict(backoffMillis = 1)
+        public String join() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("Game", 1);
+            }
+            return "joined";
+        }
+
+        @RetryOnConflict(backoffMillis = 1)
+        public String leave() {
+            calls++;
+            throw new IllegalStateException("not a conflict");
+        }
+    }
+}
@@ -11,11 +11,14 @@ import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import ch.uzh.ifi.hase.soprafs23.repository.IdempotencyRepository;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundAnswersGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
 
 import static org.assertj.core.internal.bytebuddy.matcher.ElementMatchers.is;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
@@ -72,5 +75,57 @@ public class AnswerControllerTest {
         assertEquals(answers, answersCaptor.getValue());
     }
 
+    @Test
+    public void givenGamePinAndRoundNumber_whenGetRoundAnswers_thenCallsAnswerServiceOnce() throws Exception {
+        // given
+        int gamePin = 1234;
+        int roundNumber = 1;
+        String userToken = "user-token";
+
+        when(answerService.getRoundAnswers(gamePin, roundNumber, userToken)).thenReturn(new RoundAnswersGetDTO());
+
+        // when
+        MockHttpServletRequestBuilder getRequest = MockMvcRequestBuilders
+                .get("/games/{gamePin}/rounds/{roundNumber}/answers", gamePin, roundNumber)
+                .header("Authorization", userToken);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk());
+
+        // then
+        verify(answerService).getRoundAnswers(gamePin, roundNumber, userToken);
+    }
+
+    @Test
+    public void givenIdempotencyKey_whenSaveAnswersIsRetried_thenAnswerServiceIsCalledOnce() throws Exception {
+        // given
+        int gamePin = 1234;
+        int roundNumber = 1;
+        String userToken = "user-token";
+        Map<String, String> answers = new HashMap<>();
+        answers.put("question1", "answer1");
+
+        MockHttpServletRequestBuilder postRequest = MockMvcRequestBuilders
+                .post("/games/{gamePin}/{roundNumber}", gamePin, roundNumber)
+                .header("Authorization", userToken)
+                .header("Idempotency-Key", "submission-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(answers));
+
+        try {
+            // when
+            mockMvc.perform(postRequest)
+                    .andExpect(status().isCreated());
+            mockMvc.perform(postRequest)
+                    .andExpect(status().isCreated());
+
+            // then
+            verify(answerService, times(1)).saveAnswers(gamePin, userToken, roundNumber, answers);
+        }
+        finally {
+            IdempotencyRepository.clear();
+        }
+    }
+
 
 }
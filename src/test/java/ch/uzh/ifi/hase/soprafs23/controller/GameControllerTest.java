@@ -6,6 +6,7 @@ import ch.uzh.ifi.hase.soprafs23.helper.GameHelper;
 import ch.uzh.ifi.hase.soprafs23.repository.CategoryRepository;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.*;
 import ch.uzh.ifi.hase.soprafs23.service.CategoryService;
+import ch.uzh.ifi.hase.soprafs23.service.GameMailboxService;
 import ch.uzh.ifi.hase.soprafs23.service.GameService;
 import ch.uzh.ifi.hase.soprafs23.service.RoundService;
 import ch.uzh.ifi.hase.soprafs23.service.VoteService;
@@ -17,9 +18,11 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -29,10 +32,12 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.mock.http.server.reactive.MockServerHttpRequest.put;
@@ -44,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(GameController.class)
+@Import(GameMailboxService.class)
 public class GameControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -279,4 +285,52 @@ public class GameControllerTest {
         verify(gameService).getLeaderboard();
     }
 
+    @Test
+    void whenGetLeaderboardPage_thenInvokeServiceMethod() throws Exception {
+        // given
+        LeaderboardGetDTO leaderboardGetDTO = new LeaderboardGetDTO();
+        leaderboardGetDTO.setUsername("user1");
+        leaderboardGetDTO.setAccumulatedScore(6);
+        LeaderboardPageGetDTO leaderboardPageGetDTO = new LeaderboardPageGetDTO();
+        leaderboardPageGetDTO.setEntries(List.of(leaderboardGetDTO));
+        leaderboardPageGetDTO.setNextCursor("6:1");
+        when(gameService.getLeaderboardPage("9:3", 1)).thenReturn(leaderboardPageGetDTO);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = MockMvcRequestBuilders.get("/games/lobbies/leaderboard/page")
+                .param("cursor", "9:3")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(new ObjectMapper().writeValueAsString(leaderboardPageGetDTO)));
+
+        // then
+        verify(gameService).getLeaderboardPage("9:3", 1);
+    }
+
+    @Test
+    void whenStreamLeaderboard_thenWriteEntriesAsJsonArray() throws Exception {
+        // given
+        LeaderboardGetDTO leaderboardGetDTO = new LeaderboardGetDTO();
+        leaderboardGetDTO.setUsername("user1");
+        leaderboardGetDTO.setAccumulatedScore(6);
+        doAnswer(invocation -> {
+            Consumer<LeaderboardGetDTO> consumer = invocation.getArgument(0);
+            consumer.accept(leaderboardGetDTO);
+            return null;
+        }).when(gameService).streamLeaderboard(any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/games/lobbies/leaderboard/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(new ObjectMapper().writeValueAsString(List.of(leaderboardGetDTO))));
+    }
+
 }
@@ -0,0 +1,97 @@
+package ch.uzh.ifi.hase.soprafs23.controller;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
+import ch.uzh.ifi.hase.soprafs23.service.GameMailboxService;
+import ch.uzh.ifi.hase.soprafs23.service.GameService;
+import ch.uzh.ifi.hase.soprafs23.service.RoundService;
+import ch.uzh.ifi.hase.soprafs23.service.VoteService;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.AckDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.ErrorDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GameMessageControllerTest {
+
+    private GameMessageController gameMessageController;
+    private AnswerService answerService;
+    private VoteService voteService;
+    private RoundService roundService;
+    private SimpMessageHeaderAccessor headerAccessor;
+
+    private final String userToken = "token";
+
+    @BeforeEach
+    public void setup() {
+        answerService = Mockito.mock(AnswerService.class);
+        voteService = Mockito.mock(VoteService.class);
+        roundService = Mockito.mock(RoundService.class);
+        gameMessageController = new GameMessageController(Mockito.mock(GameService.class),
+                answerService, voteService, roundService, new GameMailboxService(1, 10, 1000));
+
+        Map<String, Object> sessionAttributes = new HashMap<>();
+        sessionAttributes.put(Constant.SESSION_USER_TOKEN, userToken);
+        headerAccessor = SimpMessageHeaderAccessor.create();
+        headerAccessor.setSessionAttributes(sessionAttributes);
+    }
+
+    @Test
+    public void saveAnswers_usesSessionToken() {
+        Map<String, String> answers = new HashMap<>();
+        answers.put("City", "Zurich");
+
+        AckDTO ackDTO = gameMessageController.saveAnswers(1234, 1, answers, headerAccessor);
+
+        verify(answerService, times(1)).saveAnswers(1234, userToken, 1, answers);
+        assertEquals("answers", ackDTO.getAction());
+    }
+
+    @Test
+    public void saveVote_usesSessionToken() {
+        Map<Integer, String> votings = new HashMap<>();
+        votings.put(1, "CORRECT_UNIQUE");
+
+        AckDTO ackDTO = gameMessageController.saveVote(1234, "City", votings, headerAccessor);
+
+        verify(voteService, times(1)).saveVote(1234, "City", userToken, votings);
+        assertEquals("votings", ackDTO.getAction());
+    }
+
+    @Test
+    public void skipRequest_usesSessionToken() {
+        gameMessageController.skipRequest(1234, headerAccessor);
+
+        verify(roundService, times(1)).skipRequest(1234, userToken);
+    }
+
+    @Test
+    public void skipRequest_notAuthenticated_throwsUnauthorized() {
+        SimpMessageHeaderAccessor anonymousAccessor = SimpMessageHeaderAccessor.create();
+        anonymousAccessor.setSessionAttributes(new HashMap<>());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameMessageController.skipRequest(1234, anonymousAccessor));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatus());
+        verifyNoInteractions(roundService);
+    }
+
+    @Test
+    public void handleResponseStatusException_returnsErrorDTO() {
+        ErrorDTO errorDTO = gameMessageController.handleResponseStatusException(
+                new ResponseStatusException(HttpStatus.CONFLICT, "These Answers have already been saved."));
+
+        assertEquals(409, errorDTO.getStatus());
+        assertEquals("These Answers have already been saved.", errorDTO.getMessage());
+    }
+}
@@ -2,6 +2,7 @@ package ch.uzh.ifi.hase.soprafs23.controller;
 
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.user.UserLoginDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.user.UserPostDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.user.UserPutDTO;
@@ -16,12 +17,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -48,18 +51,18 @@ class UserControllerTest {
   @Test
   void givenUsers_whenGetUsers_thenReturnJsonArray() throws Exception {
     // given
-    User user = new User();
-    user.setUsername("firstname@lastname");
+    UserView user = Mockito.mock(UserView.class);
+    given(user.getUsername()).willReturn("firstname@lastname");
 
-    user.setQuote("My penis was in the Guinness book of records!" +
+    given(user.getQuote()).willReturn("My penis was in the Guinness book of records!" +
               "\n" +
               "Until the librarian told me to take it out.");
 
-        List<User> allUsers = Collections.singletonList(user);
+        List<UserView> allUsers = Collections.singletonList(user);
 
         // this mocks the UserService -> we define above what the userService should
-        // return when getUsers() is called
-        given(userService.getUsers()).willReturn(allUsers);
+        // return when getUserViews() is called
+        given(userService.getUserViews()).willReturn(allUsers);
 
         // when
         MockHttpServletRequestBuilder getRequest = get("/users").contentType(MediaType.APPLICATION_JSON);
@@ -70,6 +73,81 @@ class UserControllerTest {
             .andExpect(jsonPath("$[0].username", is(user.getUsername())));
     }
 
+    @Test
+    void checkUsernameAvailability_takenUsername_returnsUnavailable() throws Exception {
+        // given
+        given(userService.isUsernameAvailable("taken")).willReturn(false);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/availability")
+                .param("username", "taken")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("taken")))
+                .andExpect(jsonPath("$.available", is(false)));
+    }
+
+    @Test
+    void getUserPage_fullPage_returnsNextCursor() throws Exception {
+        // given
+        UserView user = Mockito.mock(UserView.class);
+        given(user.getId()).willReturn(7);
+        given(user.getUsername()).willReturn("testUsername");
+
+        given(userService.getUserViewPage(3, 1)).willReturn(List.of(user));
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/page")
+                .param("cursor", "3")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(1)))
+                .andExpect(jsonPath("$.users[0].username", is("testUsername")))
+                .andExpect(jsonPath("$.nextCursor", is(7)));
+    }
+
+    @Test
+    void getUserPage_lastPage_returnsNoCursor() throws Exception {
+        // given
+        given(userService.getUserViewPage(null, 50)).willReturn(List.of());
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/page").contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void streamAllUsers_writesUsersAsJsonArray() throws Exception {
+        // given
+        UserView user = Mockito.mock(UserView.class);
+        given(user.getUsername()).willReturn("testUsername");
+
+        Mockito.doAnswer(invocation -> {
+            Consumer<UserView> consumer = invocation.getArgument(0);
+            consumer.accept(user);
+            return null;
+        }).when(userService).streamUserViews(Mockito.any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username", is("testUsername")));
+    }
+
   @Test
   void createUser_validInput_userCreated() throws Exception {
     // given
@@ -217,11 +295,11 @@ class UserControllerTest {
     void getUserByID_correctInput_returnUser() throws Exception {
         // given
         int userId = 1;
-        User user = new User();
-        user.setId(userId);
-        user.setUsername("testUsername");
+        UserView user = Mockito.mock(UserView.class);
+        given(user.getId()).willReturn(userId);
+        given(user.getUsername()).willReturn("testUsername");
 
-        given(userService.getUserById(userId)).willReturn(user);
+        given(userService.getUserViewById(userId)).willReturn(user);
 
         // when
         MockHttpServletRequestBuilder getRequest = get("/users/{userId}", userId)
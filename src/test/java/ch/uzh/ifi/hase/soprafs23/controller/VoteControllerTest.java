@@ -3,6 +3,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 import ch.uzh.ifi.hase.soprafs23.helper.VoteHelper;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundVotesGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.VoteService;
 import org.junit.jupiter.api.Test;
@@ -69,5 +70,26 @@ public class VoteControllerTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void getRoundVotesTest() {
+        // Arrange
+        int gamePin = 1234;
+        int roundNumber = 1;
+        String userToken = "token";
+
+        RoundVotesGetDTO expected = new RoundVotesGetDTO();
+
+        VoteService voteServiceMock = Mockito.mock(VoteService.class);
+        when(voteServiceMock.getRoundVotes(gamePin, roundNumber, userToken)).thenReturn(expected);
+
+        VoteController voteController = new VoteController(voteServiceMock);
+
+        // Act
+        RoundVotesGetDTO result = voteController.getRoundVotes(gamePin, roundNumber, userToken);
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
 
 }
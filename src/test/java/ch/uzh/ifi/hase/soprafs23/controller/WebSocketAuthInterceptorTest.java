@@ -0,0 +1,123 @@
+package ch.uzh.ifi.hase.soprafs23.controller;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.GameMembershipRepository;
+import ch.uzh.ifi.hase.soprafs23.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WebSocketAuthInterceptorTest {
+
+    private WebSocketAuthInterceptor interceptor;
+    private UserService userService;
+    private final MessageChannel channel = Mockito.mock(MessageChannel.class);
+    private final int gamePin = 8765;
+
+    @BeforeEach
+    public void setup() {
+        userService = Mockito.mock(UserService.class);
+        interceptor = new WebSocketAuthInterceptor(userService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        GameMembershipRepository.removeGame(gamePin);
+    }
+
+    @Test
+    public void connect_validToken_attachesPrincipal() {
+        User user = new User();
+        user.setId(1);
+        user.setUsername("username");
+        user.setToken("token");
+        when(userService.getUserByToken("token")).thenReturn(user);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader(Constant.AUTHORIZATION_HEADER, "token");
+        Map<String, Object> sessionAttributes = new HashMap<>();
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setLeaveMutable(true);
+
+        interceptor.preSend(createMessage(accessor), channel);
+
+        assertEquals("username", accessor.getUser().getName());
+        assertEquals("token", sessionAttributes.get(Constant.SESSION_USER_TOKEN));
+    }
+
+    @Test
+    public void connect_invalidToken_throwsMessagingException() {
+        when(userService.getUserByToken("invalid")).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader(Constant.AUTHORIZATION_HEADER, "invalid");
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = createMessage(accessor);
+
+        assertThrows(MessagingException.class, () -> interceptor.preSend(message, channel));
+    }
+
+    @Test
+    public void connect_missingToken_throwsMessagingException() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = createMessage(accessor);
+
+        assertThrows(MessagingException.class, () -> interceptor.preSend(message, channel));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void subscribe_member_isAllowed() {
+        GameMembershipRepository.addUser(gamePin, 1);
+
+        Message<byte[]> message = createSubscribeMessage(new StompPrincipal(1, "username"));
+
+        assertEquals(message, interceptor.preSend(message, channel));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void subscribe_notMember_throwsMessagingException() {
+        GameMembershipRepository.addUser(gamePin, 1);
+
+        Message<byte[]> message = createSubscribeMessage(new StompPrincipal(2, "other"));
+
+        assertThrows(MessagingException.class, () -> interceptor.preSend(message, channel));
+    }
+
+    @Test
+    public void subscribe_anonymous_throwsMessagingException() {
+        Message<byte[]> message = createSubscribeMessage(null);
+
+        assertThrows(MessagingException.class, () -> interceptor.preSend(message, channel));
+    }
+
+    private Message<byte[]> createSubscribeMessage(StompPrincipal principal) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(Constant.DEFAULT_DESTINATION + gamePin);
+        accessor.setUser(principal);
+        accessor.setLeaveMutable(true);
+        return createMessage(accessor);
+    }
+
+    private static Message<byte[]> createMessage(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,83 @@
+package ch.uzh.ifi.hase.soprafs23.entity;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.GameMailbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameMailboxTest {
+    private ExecutorService executor;
+    private GameMailbox gameMailbox;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        gameMailbox = new GameMailbox(executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTasksRunOneAfterTheOtherInOrder() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int taskNumber = i;
+            gameMailbox.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(taskNumber);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopMailbox() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+
+        gameMailbox.execute(() -> {
+            throw new IllegalStateException("failing task");
+        });
+        gameMailbox.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIsCurrentThread() throws Exception {
+        FutureTask<Boolean> insideMailbox = new FutureTask<>(gameMailbox::isCurrentThread);
+
+        gameMailbox.execute(insideMailbox);
+
+        assertTrue(insideMailbox.get(5, TimeUnit.SECONDS));
+        assertFalse(gameMailbox.isCurrentThread());
+    }
+
+    @Test
+    public void testRejectedTaskIsNotQueued() {
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> gameMailbox.execute(() -> {}));
+        assertEquals(0, gameMailbox.getPendingTasks());
+    }
+}
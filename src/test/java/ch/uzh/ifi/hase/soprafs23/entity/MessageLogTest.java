@@ -0,0 +1,81 @@
+package ch.uzh.ifi.hase.soprafs23.entity;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.MessageLog;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.SequencedMessageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageLogTest {
+    private MessageLog messageLog;
+
+    @BeforeEach
+    public void setup() {
+        messageLog = new MessageLog(3);
+    }
+
+    @Test
+    public void testAppendIncrementsSequence() {
+        assertEquals(1, messageLog.append("first"));
+        assertEquals(2, messageLog.append("second"));
+        assertEquals(2, messageLog.getLastSequence());
+    }
+
+    @Test
+    public void testGetMessagesAfter() {
+        messageLog.append("first");
+        messageLog.append("second");
+        messageLog.append("third");
+
+        List<SequencedMessageDTO> messages = messageLog.getMessagesAfter(1);
+
+        assertEquals(2, messages.size());
+        assertEquals(2, messages.get(0).getSequence());
+        assertEquals("second", messages.get(0).getPayload());
+        assertEquals("third", messages.get(1).getPayload());
+        assertTrue(messageLog.canReplayAfter(1));
+    }
+
+    @Test
+    public void testGetMessagesAfterLastSequence_empty() {
+        messageLog.append("first");
+
+        assertTrue(messageLog.getMessagesAfter(1).isEmpty());
+        assertTrue(messageLog.canReplayAfter(1));
+    }
+
+    @Test
+    public void testGetMessagesAfter_personalMessagesOnlyForRecipient() {
+        messageLog.append("broadcast");
+        messageLog.append("votingStart of user1", "user1");
+        messageLog.append("votingStart of user2", "user2");
+
+        List<SequencedMessageDTO> messages = messageLog.getMessagesAfter(0, "user2");
+
+        assertEquals(2, messages.size());
+        assertEquals("broadcast", messages.get(0).getPayload());
+        assertEquals(3, messages.get(1).getSequence());
+        assertEquals("votingStart of user2", messages.get(1).getPayload());
+        assertEquals(1, messageLog.getMessagesAfter(0).size());
+    }
+
+    @Test
+    public void testGetMessagesAfter_overwrittenMessages() {
+        messageLog.append("first");
+        messageLog.append("second");
+        messageLog.append("third");
+        messageLog.append("fourth");
+        messageLog.append("fifth");
+
+        List<SequencedMessageDTO> messages = messageLog.getMessagesAfter(0);
+
+        assertEquals(3, messages.size());
+        assertEquals(3, messages.get(0).getSequence());
+        assertEquals("fifth", messages.get(2).getPayload());
+        assertFalse(messageLog.canReplayAfter(0));
+        assertTrue(messageLog.canReplayAfter(2));
+    }
+}
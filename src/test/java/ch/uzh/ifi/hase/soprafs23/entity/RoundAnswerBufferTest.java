@@ -0,0 +1,54 @@
+package ch.uzh.ifi.hase.soprafs23.entity;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.BufferedAnswers;
+import ch.uzh.ifi.hase.soprafs23.entity.game.RoundAnswerBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundAnswerBufferTest {
+    private final RoundAnswerBuffer buffer = new RoundAnswerBuffer();
+
+    @Test
+    public void testOffer_submissionReplacesDraft() {
+        assertEquals(RoundAnswerBuffer.Offer.ACCEPTED, buffer.offer(answers(1, true, "Athen")));
+        assertEquals(RoundAnswerBuffer.Offer.ACCEPTED, buffer.offer(answers(1, false, "Aarau")));
+
+        List<BufferedAnswers> closedAnswers = buffer.close();
+
+        assertEquals(1, closedAnswers.size());
+        assertEquals("Aarau", closedAnswers.get(0).getAnswers().get("Stadt"));
+    }
+
+    @Test
+    public void testOffer_secondSubmissionIsRejected() {
+        buffer.offer(answers(1, false, "Athen"));
+
+        assertEquals(RoundAnswerBuffer.Offer.ALREADY_SUBMITTED, buffer.offer(answers(1, false, "Aarau")));
+        assertEquals("Athen", buffer.close().get(0).getAnswers().get("Stadt"));
+    }
+
+    @Test
+    public void testOffer_closedBufferRefusesNewPlayers() {
+        buffer.offer(answers(1, true, "Athen"));
+        buffer.close();
+
+        assertEquals(RoundAnswerBuffer.Offer.CLOSED, buffer.offer(answers(2, false, "Aarau")));
+        assertEquals(RoundAnswerBuffer.Offer.ALREADY_SUBMITTED, buffer.offer(answers(1, false, "Aarau")));
+    }
+
+    @Test
+    public void testReopen_acceptsAnswersAgain() {
+        buffer.close();
+        buffer.reopen();
+
+        assertEquals(RoundAnswerBuffer.Offer.ACCEPTED, buffer.offer(answers(1, false, "Athen")));
+    }
+
+    private static BufferedAnswers answers(int userId, boolean draft, String city) {
+        return new BufferedAnswers(1234, 1, userId, draft, Map.of("Stadt", city));
+    }
+}
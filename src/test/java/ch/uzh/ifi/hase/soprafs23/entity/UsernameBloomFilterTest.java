@@ -0,0 +1,48 @@
+package ch.uzh.ifi.hase.soprafs23.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UsernameBloomFilterTest {
+    private UsernameBloomFilter usernameBloomFilter;
+
+    @BeforeEach
+    public void setup() {
+        usernameBloomFilter = new UsernameBloomFilter(1000, 0.01);
+    }
+
+    @Test
+    public void testAddedUsernamesAreAlwaysContained() {
+        for (int i = 0; i < 1000; i++) {
+            usernameBloomFilter.put("user" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(usernameBloomFilter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateStaysNearTarget() {
+        for (int i = 0; i < 1000; i++) {
+            usernameBloomFilter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (usernameBloomFilter.mightContain("free" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testEmptyFilterContainsNothing() {
+        assertFalse(usernameBloomFilter.mightContain("user1"));
+        assertEquals(7, usernameBloomFilter.getHashCount());
+    }
+}
@@ -1,11 +1,17 @@
 package ch.uzh.ifi.hase.soprafs23.helper;
 
 import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Answer;
+import ch.uzh.ifi.hase.soprafs23.entity.game.CachedAnswer;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static ch.uzh.ifi.hase.soprafs23.helper.AnswerHelper.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,4 +53,70 @@ class AnswerHelperTest {
         assertEquals(Constant.ANSWER_MAX_LENGTH,shortendAnswer.length());
     }
 
+
+    @Test
+    void test_normalizeAnswer_foldsSpellings() {
+        assertEquals("zurich", normalizeAnswer("Zürich"));
+        assertEquals("zurich", normalizeAnswer("  ZURICH! "));
+        assertEquals("st gallen", normalizeAnswer("St.Gallen"));
+        assertEquals("baden baden", normalizeAnswer("Baden - Baden"));
+        assertEquals("strasse", normalizeAnswer("Straße"));
+        assertEquals("file", normalizeAnswer("\uFB01le"));
+        assertEquals("", normalizeAnswer("-"));
+    }
+
+    @Test
+    void test_findDuplicates_flagsAllSpellingsOfAnAnswer() {
+        boolean[] duplicates = findDuplicates(List.of("Zürich", "Zug", " zurich", "-", "-", "Bern"));
+
+        assertArrayEquals(new boolean[] {true, false, true, false, false, false}, duplicates);
+    }
+
+    @Test
+    void test_findDuplicates_largeLobby_flagsEveryAnswer() {
+        // 100 players with 10 categories each, every answer written twice with another spelling
+        List<String> answerStrings = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            answerStrings.add("Answer " + i);
+            answerStrings.add("ANSWER-" + i + "!");
+        }
+
+        boolean[] duplicates = findDuplicates(answerStrings);
+
+        assertEquals(answerStrings.size(), duplicates.length);
+
+        for (boolean duplicate : duplicates) {
+            assertTrue(duplicate);
+        }
+    }
+
+    @Test
+    void test_getUniquenessSuggestions() {
+        User user = new User();
+        user.setId(1);
+        Answer answer = new Answer();
+        answer.setUser(user);
+        answer.setAnswerString("Zurich");
+        Answer emptyAnswer = new Answer();
+        emptyAnswer.setUser(user);
+        emptyAnswer.setAnswerString("-");
+
+        Map<Integer, String> duplicateSuggestions = getUniquenessSuggestions(
+                List.of(new CachedAnswer(answer, true, false)), List.of(Map.of(0, "Zurich")));
+        Map<Integer, String> uniqueSuggestions = getUniquenessSuggestions(
+                List.of(new CachedAnswer(answer, false, false)), List.of(Map.of(0, "Zurich")));
+        Map<Integer, String> emptySuggestions = getUniquenessSuggestions(
+                List.of(new CachedAnswer(emptyAnswer, false, false)), List.of(Map.of(0, "-")));
+        Map<Integer, String> notToJudgeSuggestions = getUniquenessSuggestions(
+                List.of(new CachedAnswer(answer, false, false)), List.of());
+        Map<Integer, String> wrongSuggestions = getUniquenessSuggestions(
+                List.of(new CachedAnswer(answer, true, true)), List.of(Map.of(0, "Zurich")));
+
+        assertEquals(Map.of(0, "CORRECT_NOT_UNIQUE"), duplicateSuggestions);
+        assertEquals(Map.of(0, "CORRECT_UNIQUE"), uniqueSuggestions);
+        assertTrue(emptySuggestions.isEmpty());
+        assertTrue(notToJudgeSuggestions.isEmpty());
+        assertEquals(Map.of(0, "WRONG"), wrongSuggestions);
+    }
+
 }
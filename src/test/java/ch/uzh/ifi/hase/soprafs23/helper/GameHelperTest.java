@@ -164,4 +164,51 @@ class GameHelperTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
     }
 
+
+    @Test
+    void test_checkIfLobbySizeIsValid_largeLobby_noException() {
+
+        Game game = new Game();
+        game.setMaxPlayers(100);
+        game.setVotesPerAnswer(3);
+
+        assertDoesNotThrow(() -> checkIfLobbySizeIsValid(game));
+        assertTrue(game.isLargeLobby());
+        assertTrue(game.hasSampledVoting());
+    }
+
+    @Test
+    void test_checkIfLobbySizeIsValid_tooManyPlayers() {
+
+        Game game = new Game();
+        game.setMaxPlayers(101);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> checkIfLobbySizeIsValid(game));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void test_checkIfLobbySizeIsValid_moreVotesPerAnswerThanPlayers() {
+
+        Game game = new Game();
+        game.setMaxPlayers(20);
+        game.setVotesPerAnswer(20);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> checkIfLobbySizeIsValid(game));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void test_checkIfLobbySizeIsValid_votesPerAnswerInSmallLobby() {
+
+        Game game = new Game();
+        game.setMaxPlayers(10);
+        game.setVotesPerAnswer(3);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> checkIfLobbySizeIsValid(game));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
 }
@@ -0,0 +1,52 @@
+package ch.uzh.ifi.hase.soprafs23.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static ch.uzh.ifi.hase.soprafs23.helper.PaginationHelper.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationHelperTest {
+
+    @Test
+    void test_checkIfPageLimitValid_limitInRange() {
+
+        assertDoesNotThrow(() -> checkIfPageLimitValid(1));
+        assertDoesNotThrow(() -> checkIfPageLimitValid(100));
+
+    }
+
+    @Test
+    void test_checkIfPageLimitValid_limitOutOfRange() {
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> checkIfPageLimitValid(0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("The page limit has to be between 1 and 100.", exception.getReason());
+
+        assertThrows(ResponseStatusException.class, () -> checkIfPageLimitValid(101));
+
+    }
+
+    @Test
+    void test_parseLeaderboardCursor_createdCursor() {
+
+        int[] position = parseLeaderboardCursor(createLeaderboardCursor(12, 4));
+
+        assertArrayEquals(new int[]{12, 4}, position);
+
+    }
+
+    @Test
+    void test_parseLeaderboardCursor_invalidCursor() {
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> parseLeaderboardCursor("12"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("The cursor 12 is not a valid leaderboard cursor.", exception.getReason());
+
+        assertThrows(ResponseStatusException.class, () -> parseLeaderboardCursor("a:4"));
+
+    }
+}
@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static ch.uzh.ifi.hase.soprafs23.helper.VoteHelper.*;
@@ -41,4 +45,38 @@ class VoteHelperTest {
         assertEquals(4, voteOptionsGetDTO.get().getVoteOptions().size());
     }
 
+
+    @Test
+    void test_getAuthorsToJudge_everyAnswerGetsTheSameNumberOfJudges() {
+
+        Set<Integer> authorIds = new HashSet<>();
+        for (int authorId = 1; authorId <= 100; authorId++) {
+            authorIds.add(authorId);
+        }
+
+        Map<Integer, Integer> judgesPerAuthor = new HashMap<>();
+        for (int judgeId : authorIds) {
+            Set<Integer> authorsToJudge = getAuthorsToJudge(authorIds, judgeId, 3, 1234, 1, "Stadt");
+
+            assertEquals(3, authorsToJudge.size());
+            assertFalse(authorsToJudge.contains(judgeId));
+            assertEquals(authorsToJudge, getAuthorsToJudge(authorIds, judgeId, 3, 1234, 1, "Stadt"));
+
+            for (int authorId : authorsToJudge) {
+                judgesPerAuthor.merge(authorId, 1, Integer::sum);
+            }
+        }
+
+        assertEquals(100, judgesPerAuthor.size());
+        assertTrue(judgesPerAuthor.values().stream().allMatch(judges -> judges == 3));
+    }
+
+    @Test
+    void test_getAuthorsToJudge_smallCategoryAndJudgeWithoutAnswer() {
+
+        Set<Integer> authorIds = Set.of(1, 2);
+
+        assertEquals(Set.of(2), getAuthorsToJudge(authorIds, 1, 3, 1234, 1, "Stadt"));
+        assertTrue(getAuthorsToJudge(authorIds, 3, 3, 1234, 1, "Stadt").isEmpty());
+    }
 }
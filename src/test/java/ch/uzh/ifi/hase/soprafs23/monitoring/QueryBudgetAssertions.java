@@ -0,0 +1,55 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs a service call with statement recording and fails the test when it executes more
+ * statements than the {@link QueryBudget} of the controller endpoint that serves it.
+ */
+public final class QueryBudgetAssertions {
+
+    private QueryBudgetAssertions() {}
+
+    public static <T> T callWithinQueryBudget(Class<?> controller, String endpoint, Supplier<T> action) {
+        int budget = getQueryBudget(controller, endpoint);
+
+        QueryCountInspector.startRecording();
+        T result;
+        List<String> statements;
+        try {
+            result = action.get();
+        }
+        finally {
+            statements = QueryCountInspector.stopRecording();
+        }
+
+        if (statements.size() > budget) {
+            fail(String.format("%s.%s executed %d SQL statements, budget is %d:%n%s",
+                    controller.getSimpleName(), endpoint, statements.size(), budget,
+                    String.join(System.lineSeparator(), statements)));
+        }
+        return result;
+    }
+
+    public static void runWithinQueryBudget(Class<?> controller, String endpoint, Runnable action) {
+        callWithinQueryBudget(controller, endpoint, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static int getQueryBudget(Class<?> controller, String endpoint) {
+        for (Method method : controller.getDeclaredMethods()) {
+            QueryBudget queryBudget = method.getAnnotation(QueryBudget.class);
+            if (method.getName().equals(endpoint) && queryBudget != null) {
+                return queryBudget.value();
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                "%s.%s has no query budget.", controller.getSimpleName(), endpoint));
+    }
+}
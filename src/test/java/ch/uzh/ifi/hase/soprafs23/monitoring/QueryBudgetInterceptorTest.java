@@ -0,0 +1,73 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import ch.uzh.ifi.hase.soprafs23.controller.VoteController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class QueryBudgetInterceptorTest {
+
+    private final QueryCountInspector queryCountInspector = new QueryCountInspector();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/games/1234/rounds/1/votings");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final HandlerMethod handler = getHandler("getRoundVotes");
+
+    @AfterEach
+    void tearDown() {
+        QueryCountInspector.stopRecording();
+    }
+
+    @Test
+    void postHandle_enforcedOverBudget_throws() {
+        QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(true);
+
+        interceptor.preHandle(request, response, handler);
+        inspectStatements(11);
+
+        assertThrows(IllegalStateException.class, () -> interceptor.postHandle(request, response, handler, null));
+        assertFalse(QueryCountInspector.isRecording());
+    }
+
+    @Test
+    void postHandle_enforcedWithinBudget_noException() {
+        QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(true);
+
+        interceptor.preHandle(request, response, handler);
+        inspectStatements(10);
+
+        assertDoesNotThrow(() -> interceptor.postHandle(request, response, handler, null));
+    }
+
+    @Test
+    void postHandle_notEnforcedOverBudget_onlyLogged() {
+        QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(false);
+
+        interceptor.preHandle(request, response, handler);
+        inspectStatements(11);
+
+        assertDoesNotThrow(() -> interceptor.postHandle(request, response, handler, null));
+        interceptor.afterCompletion(request, response, handler, null);
+        assertFalse(QueryCountInspector.isRecording());
+    }
+
+    private void inspectStatements(int numberOfStatements) {
+        for (int i = 0; i < numberOfStatements; i++) {
+            queryCountInspector.inspect("select " + i);
+        }
+    }
+
+    private static HandlerMethod getHandler(String endpoint) {
+        Method method = Arrays.stream(VoteController.class.getDeclaredMethods())
+                .filter(declaredMethod -> declaredMethod.getName().equals(endpoint))
+                .findFirst().orElseThrow();
+        return new HandlerMethod(mock(VoteController.class), method);
+    }
+}
@@ -0,0 +1,85 @@
+package ch.uzh.ifi.hase.soprafs23.monitoring;
+
+import ch.uzh.ifi.hase.soprafs23.controller.VoteController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountInspectorTest {
+
+    private final QueryCountInspector queryCountInspector = new QueryCountInspector();
+
+    @AfterEach
+    void tearDown() {
+        QueryCountInspector.stopRecording();
+    }
+
+    @Test
+    void inspect_notRecording_statementIgnored() {
+        assertEquals("select 1", queryCountInspector.inspect("select 1"));
+
+        assertFalse(QueryCountInspector.isRecording());
+        assertTrue(QueryCountInspector.stopRecording().isEmpty());
+    }
+
+    @Test
+    void inspect_recording_statementsRecordedInOrder() {
+        QueryCountInspector.startRecording();
+
+        queryCountInspector.inspect("select 1");
+        queryCountInspector.inspect("select 2");
+
+        assertEquals(List.of("select 1", "select 2"), QueryCountInspector.stopRecording());
+        assertFalse(QueryCountInspector.isRecording());
+    }
+
+    @Test
+    void continueRecording_otherThread_statementsRecordedWithCaller() throws Exception {
+        QueryCountInspector.startRecording();
+        queryCountInspector.inspect("select 1");
+
+        Supplier<String> action = QueryCountInspector.continueRecording(() -> queryCountInspector.inspect("select 2"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals("select 2", executor.submit(action::get).get());
+            assertFalse(executor.submit(QueryCountInspector::isRecording).get());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of("select 1", "select 2"), QueryCountInspector.stopRecording());
+    }
+
+    @Test
+    void callWithinQueryBudget_overBudget_fails() {
+        assertThrows(AssertionError.class, () ->
+                QueryBudgetAssertions.runWithinQueryBudget(VoteController.class, "getRoundVotes", () -> {
+                    for (int i = 0; i < 11; i++) {
+                        queryCountInspector.inspect("select " + i);
+                    }
+                }));
+    }
+
+    @Test
+    void callWithinQueryBudget_withinBudget_returnsResult() {
+        String result = QueryBudgetAssertions.callWithinQueryBudget(VoteController.class, "getRoundVotes", () -> {
+            queryCountInspector.inspect("select 1");
+            return "result";
+        });
+
+        assertEquals("result", result);
+    }
+
+    @Test
+    void callWithinQueryBudget_endpointWithoutBudget_throws() {
+        assertThrows(IllegalArgumentException.class, () ->
+                QueryBudgetAssertions.runWithinQueryBudget(VoteController.class, "getVoteOptions", () -> {}));
+    }
+}
@@ -0,0 +1,76 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import ch.uzh.ifi.hase.soprafs23.constant.Constant;
+import ch.uzh.ifi.hase.soprafs23.controller.UserController;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RateLimitInterceptorTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private RateLimitInterceptor rateLimitInterceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws NoSuchMethodException {
+        ObjectProvider<UserRepository> userRepositoryProvider = mock(ObjectProvider.class);
+        when(userRepositoryProvider.getIfAvailable()).thenReturn(userRepository);
+
+        RateLimiter rateLimiter = new RateLimiter(Map.of(
+                EndpointClass.DEFAULT, new RateLimiter.Limit(1, 0.1),
+                EndpointClass.EXPENSIVE, new RateLimiter.Limit(1, 0.1)), 100);
+        rateLimitInterceptor = new RateLimitInterceptor(rateLimiter, userRepositoryProvider);
+
+        Method method = Object.class.getMethod("toString");
+        handler = new HandlerMethod(mock(UserController.class), method);
+
+        User user = new User();
+        user.setId(1);
+        when(userRepository.findByToken("token")).thenReturn(user);
+    }
+
+    @Test
+    public void testEmptyBucket_tooManyRequestsWithRetryAfter() throws Exception {
+        assertTrue(rateLimitInterceptor.preHandle(request("token"), new MockHttpServletResponse(), handler));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(rateLimitInterceptor.preHandle(request("token"), response, handler));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("10", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testUnknownTokens_shareTheBucketOfTheAddress() throws Exception {
+        assertTrue(rateLimitInterceptor.preHandle(request("inventedToken"), new MockHttpServletResponse(), handler));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(rateLimitInterceptor.preHandle(request("otherInventedToken"), response, handler));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+
+        // the known user still has a bucket of its own
+        assertTrue(rateLimitInterceptor.preHandle(request("token"), new MockHttpServletResponse(), handler));
+    }
+
+    private static MockHttpServletRequest request(String userToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader(Constant.AUTHORIZATION_HEADER, userToken);
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package ch.uzh.ifi.hase.soprafs23.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // keeps the refilled tokens clear of rounding when comparing against whole tokens
+    private static final long MARGIN = 1000;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        rateLimiter = new RateLimiter(Map.of(
+                EndpointClass.DEFAULT, new RateLimiter.Limit(3, 1),
+                EndpointClass.EXPENSIVE, new RateLimiter.Limit(1, 0.5)), 100);
+    }
+
+    @Test
+    public void testBurstUpToCapacityThenWaitForRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0));
+        }
+
+        assertEquals(SECOND, rateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0), MARGIN);
+        assertEquals(0, rateLimiter.tryAcquire("token", EndpointClass.DEFAULT, SECOND + MARGIN));
+    }
+
+    @Test
+    public void testBucketsAreSeparatedByClientAndEndpointClass() {
+        assertEquals(0, rateLimiter.tryAcquire("token", EndpointClass.EXPENSIVE, 0));
+        assertEquals(2 * SECOND, rateLimiter.tryAcquire("token", EndpointClass.EXPENSIVE, 0), MARGIN);
+
+        assertEquals(0, rateLimiter.tryAcquire("otherToken", EndpointClass.EXPENSIVE, 0));
+        assertEquals(0, rateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0));
+    }
+
+    @Test
+    public void testRefilledBucketsAreEvicted() {
+        rateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0);
+        rateLimiter.tryAcquire("otherToken", EndpointClass.EXPENSIVE, 0);
+        assertEquals(2, rateLimiter.getBucketCount());
+
+        rateLimiter.evictFullBuckets(SECOND + MARGIN);
+        assertEquals(1, rateLimiter.getBucketCount());
+
+        rateLimiter.evictFullBuckets(2 * SECOND + MARGIN);
+        assertEquals(0, rateLimiter.getBucketCount());
+    }
+
+    @Test
+    public void testOldestBucketIsDroppedWhenTableIsFull() {
+        RateLimiter smallRateLimiter = new RateLimiter(Map.of(
+                EndpointClass.DEFAULT, new RateLimiter.Limit(1, 1)), 2);
+
+        assertEquals(0, smallRateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0));
+        assertNotEquals(0, smallRateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0));
+
+        smallRateLimiter.tryAcquire("otherToken", EndpointClass.DEFAULT, 0);
+        smallRateLimiter.tryAcquire("thirdToken", EndpointClass.DEFAULT, 0);
+        assertEquals(2, smallRateLimiter.getBucketCount());
+
+        // the bucket of the first client was the oldest and starts full again
+        assertEquals(0, smallRateLimiter.tryAcquire("token", EndpointClass.DEFAULT, 0));
+        assertEquals(2, smallRateLimiter.getBucketCount());
+    }
+}
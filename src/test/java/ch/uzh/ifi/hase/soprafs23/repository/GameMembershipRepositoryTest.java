@@ -0,0 +1,41 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameMembershipRepositoryTest {
+    private final int gamePin = 7654;
+
+    @AfterEach
+    public void tearDown() {
+        GameMembershipRepository.removeGame(gamePin);
+    }
+
+    @Test
+    public void testAddUser() {
+        GameMembershipRepository.addUser(gamePin, 1);
+        assertTrue(GameMembershipRepository.isMember(gamePin, 1));
+        assertFalse(GameMembershipRepository.isMember(gamePin, 2));
+    }
+
+    @Test
+    public void testRemoveUser() {
+        GameMembershipRepository.addUser(gamePin, 1);
+        GameMembershipRepository.removeUser(gamePin, 1);
+        assertFalse(GameMembershipRepository.isMember(gamePin, 1));
+    }
+
+    @Test
+    public void testRemoveUserUnknownGame() {
+        assertDoesNotThrow(() -> GameMembershipRepository.removeUser(gamePin, 1));
+    }
+
+    @Test
+    public void testRemoveGame() {
+        GameMembershipRepository.addUser(gamePin, 1);
+        GameMembershipRepository.removeGame(gamePin);
+        assertFalse(GameMembershipRepository.isMember(gamePin, 1));
+    }
+}
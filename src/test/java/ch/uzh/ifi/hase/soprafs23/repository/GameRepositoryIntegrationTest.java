@@ -10,8 +10,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
+import javax.persistence.PersistenceUnitUtil;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -175,4 +177,126 @@ class GameRepositoryIntegrationTest {
         assertThat(users.get(0).getUsername()).isEqualTo("TestUser");
     }
 
-}
\ No newline at end of file
+    @Test
+    void findByGamePinWithParticipants_participantsAndUsersLoaded() {
+        User user = new User();
+        user.setUsername("TestUser");
+        user.setPassword("TestPassword");
+        user.setToken("r");
+        user.setQuote("f");
+        user.setCreationDate(LocalDate.EPOCH);
+
+        Game testGame = new Game();
+        testGame.setGamePin(1234);
+        testGame.addPlayer(user);
+        testGame.setHostId(3);
+        testGame.setStatus(GameStatus.OPEN);
+        testGame.setRoundLength(RoundLength.LONG);
+
+        entityManager.persist(user);
+        entityManager.persist(testGame);
+        entityManager.flush();
+        entityManager.clear();
+
+        Game found = gameRepository.findByGamePinWithParticipants(1234);
+
+        PersistenceUnitUtil persistenceUnitUtil =
+                entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        assertTrue(persistenceUnitUtil.isLoaded(found, "gameParticipants"));
+        assertEquals(1, found.getActiveUsers().size());
+        assertTrue(persistenceUnitUtil.isLoaded(found.getActiveUsers().get(0)));
+        assertEquals("TestUser", found.getActiveUsers().get(0).getUsername());
+    }
+
+    @Test
+    void findByGamePinWithCategories_categoriesLoaded() {
+        Category category1 = new Category();
+        category1.setName("Stadt");
+        Category category2 = new Category();
+        category2.setName("Land");
+
+        Game testGame = new Game();
+        testGame.setGamePin(1234);
+        testGame.setHostId(3);
+        testGame.setStatus(GameStatus.OPEN);
+        testGame.setRoundLength(RoundLength.LONG);
+        testGame.setCategories(List.of(category1, category2));
+
+        entityManager.persist(testGame);
+        entityManager.flush();
+        entityManager.clear();
+
+        Game found = gameRepository.findByGamePinWithCategories(1234);
+
+        PersistenceUnitUtil persistenceUnitUtil =
+                entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        assertTrue(persistenceUnitUtil.isLoaded(found, "categories"));
+        assertEquals(2, found.getCategories().size());
+    }
+
+    @Test
+    void findByStatusInWithParticipants_noDuplicateGames() {
+        User user1 = new User();
+        user1.setUsername("TestUser1");
+        user1.setPassword("TestPassword");
+        user1.setToken("r1");
+        user1.setQuote("f");
+        user1.setCreationDate(LocalDate.EPOCH);
+        User user2 = new User();
+        user2.setUsername("TestUser2");
+        user2.setPassword("TestPassword");
+        user2.setToken("r2");
+        user2.setQuote("f");
+        user2.setCreationDate(LocalDate.EPOCH);
+
+        Game openGame = new Game();
+        openGame.setGamePin(1234);
+        openGame.addPlayer(user1);
+        openGame.addPlayer(user2);
+        openGame.setHostId(3);
+        openGame.setStatus(GameStatus.OPEN);
+        openGame.setRoundLength(RoundLength.LONG);
+
+        Game closedGame = new Game();
+        closedGame.setGamePin(5678);
+        closedGame.setHostId(3);
+        closedGame.setStatus(GameStatus.CLOSED);
+        closedGame.setRoundLength(RoundLength.LONG);
+
+        entityManager.persist(user1);
+        entityManager.persist(user2);
+        entityManager.persist(openGame);
+        entityManager.persist(closedGame);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Game> found = gameRepository.findByStatusInWithParticipants(List.of(GameStatus.OPEN, GameStatus.RUNNING));
+
+        assertEquals(1, found.size());
+        assertEquals(2, found.get(0).getActiveUsers().size());
+    }
+
+    @Test
+    void saveAndFlush_staleGame_throwsOptimisticLockingFailure() {
+        Game game = new Game();
+        game.setHostId(1);
+        game.setGamePin(1234);
+        game.setRoundLength(RoundLength.SHORT);
+        game.setRounds(3);
+        game.setStatus(GameStatus.OPEN);
+
+        entityManager.persist(game);
+        entityManager.flush();
+        entityManager.detach(game);
+
+        Game current = gameRepository.findByGamePin(1234);
+        current.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(current);
+        assertEquals(game.getVersion() + 1, current.getVersion());
+        entityManager.detach(current);
+
+        game.setStatus(GameStatus.CLOSED);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> gameRepository.saveAndFlush(game));
+    }
+
+}
@@ -0,0 +1,45 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameTimerRepositoryTest {
+    private final int gamePin = 6543;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        GameTimerRepository.removeGame(gamePin);
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void testTimerStopped_countedOnce() {
+        int activeTimers = GameTimerRepository.countActiveTimers();
+
+        GameTimerRepository.timerStarted(gamePin, timer);
+        assertEquals(activeTimers + 1, GameTimerRepository.countActiveTimers());
+
+        GameTimerRepository.timerStopped(gamePin, timer);
+        GameTimerRepository.timerStopped(gamePin, timer);
+        assertEquals(activeTimers, GameTimerRepository.countActiveTimers());
+        assertTrue(timer.isShutdown());
+    }
+
+    @Test
+    public void testRemoveGame_shutsDownTimers() {
+        int activeTimers = GameTimerRepository.countActiveTimers();
+        GameTimerRepository.timerStarted(gamePin, timer);
+
+        GameTimerRepository.removeGame(gamePin);
+        GameTimerRepository.timerStopped(gamePin, timer);
+
+        assertTrue(timer.isShutdown());
+        assertEquals(activeTimers, GameTimerRepository.countActiveTimers());
+    }
+}
@@ -0,0 +1,134 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyRepositoryTest {
+    private final String key = IdempotencyRepository.createKey("token", "1234/1", "key");
+    private final Map<String, String> body = Map.of("Stadt", "Bern");
+
+    @AfterEach
+    public void tearDown() {
+        IdempotencyRepository.clear();
+    }
+
+    @Test
+    public void testRunOnce_retryDoesNotRunAgain() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyRepository.runOnce(key, body, runs::incrementAndGet);
+        IdempotencyRepository.runOnce(key, body, runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testRemoveGame_onlyDropsOutcomesOfGame() {
+        String otherGameKey = IdempotencyRepository.createKey("token", "4321/1", "key");
+        IdempotencyRepository.runOnce(key, body, () -> {});
+        IdempotencyRepository.runOnce(otherGameKey, body, () -> {});
+
+        IdempotencyRepository.removeGame(1234);
+
+        assertEquals(1, IdempotencyRepository.countOutcomes());
+    }
+
+    @Test
+    public void testRunOnce_withoutKeyRunsEveryTime() {
+        AtomicInteger runs = new AtomicInteger();
+        String noKey = IdempotencyRepository.createKey("token", "1234/1", null);
+
+        IdempotencyRepository.runOnce(noKey, body, runs::incrementAndGet);
+        IdempotencyRepository.runOnce(noKey, body, runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, IdempotencyRepository.countOutcomes());
+    }
+
+    @Test
+    public void testRunOnce_clientErrorIsReplayed() {
+        AtomicInteger runs = new AtomicInteger();
+        Runnable submission = () -> {
+            runs.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "These Answers have already been saved.");
+        };
+
+        assertThrows(ResponseStatusException.class, () -> IdempotencyRepository.runOnce(key, body, submission));
+        ResponseStatusException replayed = assertThrows(ResponseStatusException.class,
+                () -> IdempotencyRepository.runOnce(key, body, submission));
+
+        assertEquals(HttpStatus.CONFLICT, replayed.getStatus());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testRunOnce_serverErrorIsNotKept() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(ResponseStatusException.class, () -> IdempotencyRepository.runOnce(key, body, () -> {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+        IdempotencyRepository.runOnce(key, body, runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testRunOnce_otherBodyIsRefused() {
+        AtomicInteger runs = new AtomicInteger();
+        IdempotencyRepository.runOnce(key, body, runs::incrementAndGet);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> IdempotencyRepository.runOnce(key, Map.of("Stadt", "Basel"), runs::incrementAndGet));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testRunOnce_duplicateWhileRunningFailsFast() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> first = executor.submit(() -> IdempotencyRepository.runOnce(key, body, () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> IdempotencyRepository.runOnce(key, body, runs::incrementAndGet));
+            assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        IdempotencyRepository.runOnce(key, body, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+    }
+}
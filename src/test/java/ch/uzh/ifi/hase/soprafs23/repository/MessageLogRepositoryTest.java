@@ -0,0 +1,47 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.MessageLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageLogRepositoryTest {
+    private final int gamePin = 6543;
+
+    @AfterEach
+    public void tearDown() {
+        MessageLogRepository.removeMessageLog(gamePin);
+    }
+
+    @Test
+    public void testAddGame() {
+        MessageLog messageLog = MessageLogRepository.addGame(gamePin);
+        assertNotNull(messageLog);
+        assertEquals(0, messageLog.getLastSequence());
+    }
+
+    @Test
+    public void testFindByGamePin() {
+        MessageLog messageLog = MessageLogRepository.addGame(gamePin);
+        assertEquals(messageLog, MessageLogRepository.findByGamePin(gamePin));
+        assertTrue(MessageLogRepository.findOptionalByGamePin(gamePin).isPresent());
+    }
+
+    @Test
+    public void testFindByGamePinNotFound() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> MessageLogRepository.findByGamePin(gamePin));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertTrue(MessageLogRepository.findOptionalByGamePin(gamePin).isEmpty());
+    }
+
+    @Test
+    public void testRemoveMessageLog() {
+        MessageLogRepository.addGame(gamePin);
+        MessageLogRepository.removeMessageLog(gamePin);
+        assertTrue(MessageLogRepository.findOptionalByGamePin(gamePin).isEmpty());
+    }
+}
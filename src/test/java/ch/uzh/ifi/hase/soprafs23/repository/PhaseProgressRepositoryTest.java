@@ -0,0 +1,53 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhaseProgressRepositoryTest {
+    private final int gamePin = 9876;
+    private final String phase = PhaseProgressRepository.votesPhase(1, 0);
+
+    @BeforeEach
+    public void setup() {
+        GameMembershipRepository.addUser(gamePin, 1);
+        GameMembershipRepository.addUser(gamePin, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        GameMembershipRepository.removeGame(gamePin);
+        PhaseProgressRepository.removeGame(gamePin);
+    }
+
+    @Test
+    public void testAllPlayersSubmitted_onlyOnceEveryMemberSubmitted() {
+        assertFalse(PhaseProgressRepository.allPlayersSubmitted(gamePin, phase));
+
+        PhaseProgressRepository.markSubmitted(gamePin, phase, 1);
+        assertFalse(PhaseProgressRepository.allPlayersSubmitted(gamePin, phase));
+
+        PhaseProgressRepository.markSubmitted(gamePin, phase, 2);
+        assertTrue(PhaseProgressRepository.allPlayersSubmitted(gamePin, phase));
+    }
+
+    @Test
+    public void testAllPlayersSubmitted_playerWhoLeftIsNotWaitedFor() {
+        PhaseProgressRepository.markSubmitted(gamePin, phase, 1);
+
+        GameMembershipRepository.removeUser(gamePin, 2);
+
+        assertTrue(PhaseProgressRepository.allPlayersSubmitted(gamePin, phase));
+    }
+
+    @Test
+    public void testAllPlayersSubmitted_phasesAreSeparated() {
+        PhaseProgressRepository.markSubmitted(gamePin, phase, 1);
+        PhaseProgressRepository.markSubmitted(gamePin, phase, 2);
+
+        assertFalse(PhaseProgressRepository.allPlayersSubmitted(gamePin, PhaseProgressRepository.votesPhase(1, 1)));
+        assertFalse(PhaseProgressRepository.allPlayersSubmitted(gamePin, PhaseProgressRepository.answersPhase(1)));
+    }
+}
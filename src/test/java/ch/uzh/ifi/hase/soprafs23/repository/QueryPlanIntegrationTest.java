@@ -0,0 +1,76 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with H2 EXPLAIN that the lookups of the hot repository methods are answered by the
+ * indexes of the V2 migration instead of a table scan.
+ */
+@DataJpaTest
+class QueryPlanIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void answerRepository_findByRoundAndCategoryAndUser_usesIndex() {
+        String plan = explain("SELECT * FROM answer WHERE round_id = 1 AND category_id = 1 AND user_id = 1");
+
+        assertTrue(plan.contains("IDX_ANSWER_ROUND_CATEGORY_USER"), plan);
+    }
+
+    @Test
+    void answerRepository_findByRoundAndCategory_usesIndex() {
+        String plan = explain("SELECT * FROM answer WHERE round_id = 1 AND category_id = 1");
+
+        assertTrue(plan.contains("IDX_ANSWER_ROUND_CATEGORY_USER"), plan);
+    }
+
+    @Test
+    void voteRepository_findByAnswer_noTableScan() {
+        String plan = explain("SELECT * FROM vote WHERE answer_id = 1");
+
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void voteRepository_findByUserAndAnswer_usesIndex() {
+        String plan = explain("SELECT * FROM vote WHERE user_id = 1 AND answer_id = 1");
+
+        assertTrue(plan.contains("IDX_VOTE_USER_ANSWER"), plan);
+    }
+
+    @Test
+    void roundRepository_findByGameAndRoundNumber_usesIndex() {
+        String plan = explain("SELECT * FROM round WHERE game_id = 1 AND round_number = 1");
+
+        assertTrue(plan.contains("IDX_ROUND_GAME_ROUND_NUMBER"), plan);
+    }
+
+    @Test
+    void gameRepository_findByStatus_usesIndex() {
+        String plan = explain("SELECT * FROM game WHERE status = 1");
+
+        assertTrue(plan.contains("IDX_GAME_STATUS"), plan);
+    }
+
+    @Test
+    void gameParticipant_byUserAndStatus_usesIndex() {
+        String plan = explain("SELECT * FROM game_participant WHERE user_id = 1 AND participant_status = 0");
+
+        assertTrue(plan.contains("IDX_GAME_PARTICIPANT_USER_STATUS"), plan);
+    }
+
+    private String explain(String sql) {
+        Object plan = entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult();
+
+        return String.valueOf(plan).toUpperCase();
+    }
+}
@@ -0,0 +1,86 @@
+package ch.uzh.ifi.hase.soprafs23.repository;
+
+import ch.uzh.ifi.hase.soprafs23.entity.game.RoundCacheKey;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundCacheRepositoryTest {
+    private final int gamePin = 9876;
+    private final RoundCacheKey key = new RoundCacheKey(gamePin, 1, "City");
+
+    @AfterEach
+    public void tearDown() {
+        RoundCacheRepository.removeGame(gamePin);
+    }
+
+    @Test
+    public void testFindVotes_computesOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        List<VoteGetDTO> first = RoundCacheRepository.findVotes(key, () -> {
+            loads.incrementAndGet();
+            return List.of(new VoteGetDTO());
+        });
+        List<VoteGetDTO> second = RoundCacheRepository.findVotes(key, () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testInvalidate_recomputes() {
+        RoundCacheRepository.findVotes(key, ArrayList::new);
+        RoundCacheRepository.invalidate(key);
+
+        List<VoteGetDTO> votes = RoundCacheRepository.findVotes(key, () -> List.of(new VoteGetDTO()));
+
+        assertEquals(1, votes.size());
+    }
+
+    @Test
+    public void testInvalidate_otherKeysStayCached() {
+        RoundCacheKey otherKey = new RoundCacheKey(gamePin, 1, "Country");
+        List<VoteGetDTO> cached = RoundCacheRepository.findVotes(otherKey, ArrayList::new);
+
+        RoundCacheRepository.invalidate(key);
+
+        assertSame(cached, RoundCacheRepository.findVotes(otherKey, () -> List.of(new VoteGetDTO())));
+    }
+
+    @Test
+    public void testRemoveGame() {
+        RoundCacheRepository.findAnswers(key, ArrayList::new);
+        RoundCacheRepository.removeGame(gamePin);
+
+        AtomicInteger loads = new AtomicInteger();
+        RoundCacheRepository.findAnswers(key, () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testFailedLoad_isNotCached() {
+        assertThrows(ResponseStatusException.class, () -> RoundCacheRepository.findVotes(key, () -> {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }));
+
+        List<VoteGetDTO> votes = RoundCacheRepository.findVotes(key, () -> List.of(new VoteGetDTO()));
+
+        assertEquals(1, votes.size());
+    }
+}
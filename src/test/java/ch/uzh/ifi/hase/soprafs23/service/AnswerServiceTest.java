@@ -6,6 +6,9 @@ import ch.uzh.ifi.hase.soprafs23.constant.ScorePoint;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.*;
 import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundAnswersGetDTO;
+import ch.uzh.ifi.hase.soprafs23.websocketDto.votingDto.VotingStartDTO;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,6 +51,9 @@ public class AnswerServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private Gazetteer gazetteer;
+
     @Captor
     ArgumentCaptor<Answer> answerCaptor;
 
@@ -66,9 +72,14 @@ public class AnswerServiceTest {
         answers.put("category2", "answer2");
     }
 
+    @AfterEach
+    public void tearDown() {
+        RoundCacheRepository.removeGame(gamePin);
+    }
+
     @Test
     public void testSaveAnswers_gameDoesNotExist() {
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(null);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(null);
 
         try {
             answerService.saveAnswers(gamePin, userToken, roundNumber, answers);
@@ -83,7 +94,7 @@ public class AnswerServiceTest {
     public void testSaveAnswers_gameNotRunning() {
         Game notRunningGame = new Game();
         notRunningGame.setStatus(GameStatus.OPEN);
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(notRunningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(notRunningGame);
 
         try {
             answerService.saveAnswers(gamePin, userToken, roundNumber, answers);
@@ -98,7 +109,7 @@ public class AnswerServiceTest {
     public void testSaveAnswers_userDoesNotExist() {
         Game runningGame = new Game();
         runningGame.setStatus(GameStatus.RUNNING);
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(null);
 
         try {
@@ -117,7 +128,7 @@ public class AnswerServiceTest {
         User user = new User();
         user.setToken(userToken);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(user);
 
         try {
@@ -138,7 +149,7 @@ public class AnswerServiceTest {
 
         runningGame.getUsers().add(user);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(user);
         lenient().when(roundRepository.findByGameAndRoundNumber(any(Game.class), anyInt())).thenReturn(null);
 
@@ -167,7 +178,7 @@ public class AnswerServiceTest {
         Round unfinishedRound = new Round();
         unfinishedRound.setStatus(RoundStatus.RUNNING);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(user);
         lenient().when(roundRepository.findByGameAndRoundNumber(any(Game.class), anyInt())).thenReturn(null);
 
@@ -192,7 +203,7 @@ public class AnswerServiceTest {
         String categoryName = "category1";
         String userToken = "abcde";
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(null);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(null);
 
         try {
             answerService.getAnswers(gamePin, roundNumber, categoryName, userToken);
@@ -213,7 +224,7 @@ public class AnswerServiceTest {
         Game notRunningGame = new Game();
         notRunningGame.setStatus(GameStatus.OPEN);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(notRunningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(notRunningGame);
 
         try {
             answerService.getAnswers(gamePin, roundNumber, categoryName, userToken);
@@ -234,7 +245,7 @@ public class AnswerServiceTest {
         Game runningGame = new Game();
         runningGame.setStatus(GameStatus.RUNNING);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(null);
 
         try {
@@ -258,7 +269,7 @@ public class AnswerServiceTest {
         User user = new User();
         user.setToken(userToken);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(user);
 
         try {
@@ -283,7 +294,7 @@ public class AnswerServiceTest {
         user.setToken(userToken);
         runningGame.getUsers().add(user);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(user);
         lenient().when(roundRepository.findByGameAndRoundNumber(any(Game.class), anyInt())).thenReturn(null);
 
@@ -318,7 +329,7 @@ public class AnswerServiceTest {
         Round unfinishedRound = new Round();
         unfinishedRound.setStatus(RoundStatus.RUNNING);
 
-        when(gameRepository.findByGamePin(anyInt())).thenReturn(runningGame);
+        when(gameRepository.findByGamePinWithParticipants(anyInt())).thenReturn(runningGame);
         when(userRepository.findByToken(anyString())).thenReturn(user);
         lenient().when(roundRepository.findByGameAndRoundNumber(any(Game.class), anyInt())).thenReturn(unfinishedRound);
 
@@ -335,4 +346,127 @@ public class AnswerServiceTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetVotingStartDTOsOfAllUsers_filtersOwnAnswer() {
+        User user1 = new User();
+        user1.setId(1);
+        user1.setUsername("user1");
+        User user2 = new User();
+        user2.setId(2);
+        user2.setUsername("user2");
+
+        Category category = new Category();
+        category.setName("City");
+
+        Game game = new Game();
+        game.setStatus(GameStatus.RUNNING);
+        game.setCurrentRound(roundNumber);
+        game.setCategories(List.of(category));
+        game.addPlayer(user1);
+        game.addPlayer(user2);
+
+        Round round = new Round();
+        round.setRoundNumber(roundNumber);
+
+        Answer answer1 = new Answer();
+        answer1.setUser(user1);
+        answer1.setAnswerString("Zurich");
+        Answer answer2 = new Answer();
+        answer2.setUser(user2);
+        answer2.setAnswerString("Zug");
+
+        when(gameRepository.findByGamePinWithParticipants(gamePin)).thenReturn(game);
+        when(roundRepository.findByGameAndRoundNumber(game, roundNumber)).thenReturn(round);
+        when(answerRepository.findByRoundAndCategory(round, category)).thenReturn(List.of(answer1, answer2));
+
+        Map<String, VotingStartDTO> result = answerService.getVotingStartDTOsOfAllUsers(gamePin, 0);
+
+        assertEquals(2, result.size());
+        assertEquals("City", result.get("user1").getCategoryName());
+        assertEquals(List.of("Zug"), new ArrayList<>(result.get("user1").getAnswers().get(0).values()));
+        assertEquals(List.of("Zurich"), new ArrayList<>(result.get("user2").getAnswers().get(0).values()));
+        verify(answerRepository, times(1)).findByRoundAndCategory(round, category);
+    }
+
+    @Test
+    public void testGetVotingStartDTOsOfAllUsers_invalidCategoryIndex() {
+        Game game = new Game();
+        game.setCurrentRound(roundNumber);
+        game.setCategories(new ArrayList<>());
+
+        when(gameRepository.findByGamePinWithParticipants(gamePin)).thenReturn(game);
+        when(roundRepository.findByGameAndRoundNumber(game, roundNumber)).thenReturn(new Round());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> answerService.getVotingStartDTOsOfAllUsers(gamePin, 3));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    public void testGetRoundAnswers_returnsAllCategoriesWithoutOwnAnswers() {
+        User user1 = new User();
+        user1.setId(1);
+        user1.setToken(userToken);
+        User user2 = new User();
+        user2.setId(2);
+
+        Category category = new Category();
+        category.setName("City");
+
+        Game game = new Game();
+        game.setStatus(GameStatus.RUNNING);
+        game.setCategories(List.of(category));
+        game.addPlayer(user1);
+        game.addPlayer(user2);
+
+        Round round = new Round();
+        round.setRoundNumber(roundNumber);
+        round.setStatus(RoundStatus.FINISHED);
+
+        Answer answer1 = new Answer();
+        answer1.setUser(user1);
+        answer1.setCategory(category);
+        answer1.setAnswerString("Zurich");
+        Answer answer2 = new Answer();
+        answer2.setUser(user2);
+        answer2.setCategory(category);
+        answer2.setAnswerString("Zug");
+
+        when(gameRepository.findByGamePinWithParticipants(gamePin)).thenReturn(game);
+        when(userRepository.findByToken(userToken)).thenReturn(user1);
+        when(roundRepository.findByGameAndRoundNumber(game, roundNumber)).thenReturn(round);
+        when(answerRepository.findByRoundWithUserAndCategory(round)).thenReturn(List.of(answer1, answer2));
+
+        RoundAnswersGetDTO result = answerService.getRoundAnswers(gamePin, roundNumber, userToken);
+
+        assertEquals(roundNumber, result.getRound());
+        assertEquals(1, result.getCategories().size());
+        assertEquals("City", result.getCategories().get(0).getCategoryName());
+        assertArrayEquals(new String[]{"Zug"}, result.getCategories().get(0).getAnswerStrings());
+        assertEquals(1, result.getCategories().get(0).getAnswerIds().length);
+        verify(answerRepository, times(1)).findByRoundWithUserAndCategory(round);
+    }
+
+    @Test
+    public void testGetRoundAnswers_roundNotFinished() {
+        User user = new User();
+        user.setId(1);
+
+        Game game = new Game();
+        game.setStatus(GameStatus.RUNNING);
+        game.addPlayer(user);
+
+        Round round = new Round();
+        round.setStatus(RoundStatus.RUNNING);
+
+        when(gameRepository.findByGamePinWithParticipants(gamePin)).thenReturn(game);
+        when(userRepository.findByToken(userToken)).thenReturn(user);
+        when(roundRepository.findByGameAndRoundNumber(game, roundNumber)).thenReturn(round);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> answerService.getRoundAnswers(gamePin, roundNumber, userToken));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verifyNoInteractions(answerRepository);
+    }
+}
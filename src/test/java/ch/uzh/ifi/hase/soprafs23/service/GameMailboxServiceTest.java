@@ -0,0 +1,73 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import ch.uzh.ifi.hase.soprafs23.repository.GameMailboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMailboxServiceTest {
+
+    private final int gamePin = 4242;
+    private GameMailboxService gameMailboxService;
+
+    @BeforeEach
+    void setup() {
+        gameMailboxService = new GameMailboxService(2, 10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameMailboxService.shutdown();
+        GameMailboxRepository.removeGame(gamePin);
+    }
+
+    @Test
+    void call_returnsResultOfMutation() {
+        assertEquals(5, gameMailboxService.call(gamePin, () -> 2 + 3));
+    }
+
+    @Test
+    void call_mutationThrows_rethrowsToCaller() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameMailboxService.execute(gamePin, () -> {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "This lobby does not exist!");
+                }));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void call_nestedCallOfSameGame_runsInline() {
+        int result = gameMailboxService.call(gamePin, () -> gameMailboxService.call(gamePin, () -> 7));
+
+        assertEquals(7, result);
+    }
+
+    @Test
+    void call_mutationTooSlow_throwsServiceUnavailable() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameMailboxService.execute(gamePin, () -> {
+                    try {
+                        Thread.sleep(3000);
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    }
+
+    @Test
+    void submit_closedGame_refusedWithoutNewMailbox() {
+        gameMailboxService.execute(gamePin, () -> {});
+        GameMailboxRepository.removeGame(gamePin);
+
+        assertFalse(gameMailboxService.submit(gamePin, () -> fail("The tick of a closed game must not run.")));
+        assertNull(GameMailboxRepository.find(gamePin));
+    }
+}
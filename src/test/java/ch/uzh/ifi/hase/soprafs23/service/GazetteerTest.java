@@ -0,0 +1,57 @@
+package ch.uzh.ifi.hase.soprafs23.service;
+
+import org.junit.jupiter.api.Test;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GazetteerTest {
+
+    private final Gazetteer gazetteer = new Gazetteer();
+
+    @Test
+    public void testIsCountry_alternateSpellings() {
+        assertTrue(gazetteer.isCountry("Switzerland"));
+        assertTrue(gazetteer.isCountry(" schweiz "));
+        assertTrue(gazetteer.isCountry("Österreich"));
+        assertTrue(gazetteer.isCountry("cote d ivoire"));
+        assertFalse(gazetteer.isCountry("Atlantis"));
+        assertFalse(gazetteer.isCountry("Zurich"));
+    }
+
+    @Test
+    public void testIsCity_alternateSpellings() {
+        assertTrue(gazetteer.isCity("Zürich"));
+        assertTrue(gazetteer.isCity("GENF"));
+        assertTrue(gazetteer.isCity("St. Gallen"));
+        assertFalse(gazetteer.isCity("Switzerland"));
+    }
+
+    @Test
+    public void testIsObviouslyWrong_country() {
+        assertFalse(gazetteer.isObviouslyWrong("Country", 'S', "Schweiz"));
+        assertFalse(gazetteer.isObviouslyWrong("Country", 'A', "Ägypten"));
+        assertTrue(gazetteer.isObviouslyWrong("Country", 'A', "Schweiz"));
+        assertTrue(gazetteer.isObviouslyWrong("Country", 'A', "Atlantis"));
+    }
+
+    @Test
+    public void testIsObviouslyWrong_city() {
+        assertFalse(gazetteer.isObviouslyWrong("City", 'L', "Luxembourg"));
+        assertFalse(gazetteer.isObviouslyWrong("City", 'Z', "Zermatt"));
+        assertTrue(gazetteer.isObviouslyWrong("City", 'B', "Brazil"));
+        assertTrue(gazetteer.isObviouslyWrong("City", 'B', "Zürich"));
+    }
+
+    @Test
+    public void testIsObviouslyWrong_otherCategoryOrEmptyAnswer() {
+        assertFalse(gazetteer.isObviouslyWrong("Stadt", 'A', "Bern"));
+        assertFalse(gazetteer.isObviouslyWrong("Country", 'A', "-"));
+    }
+
+    @Test
+    public void testGetSizeInBytes_packedTables() {
+        // both packed tables together stay in the tens of kilobytes
+        assertTrue(gazetteer.getSizeInBytes() < 64 * 1024, String.valueOf(gazetteer.getSizeInBytes()));
+    }
+}
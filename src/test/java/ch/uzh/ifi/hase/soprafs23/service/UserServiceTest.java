@@ -8,6 +8,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -71,12 +72,14 @@ class UserServiceTest {
         // given -> a first user has already been created
         userService.createAndReturnUser(testUser);
 
-        // when -> setup additional mocks for UserRepository
-        when(userRepository.findByUsername(Mockito.any())).thenReturn(testUser);
+        // when -> the unique constraint of the username rejects the insert
+        when(userRepository.save(Mockito.any())).thenThrow(new DataIntegrityViolationException("uk_user_username"));
 
         // then -> attempt to create second user with same user -> check that an error
         // is thrown
-        assertThrows(ResponseStatusException.class, () -> userService.createAndReturnUser(testUser));
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.createAndReturnUser(testUser));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
@@ -84,12 +87,14 @@ class UserServiceTest {
         // given -> a first user has already been created
         userService.createAndReturnUser(testUser);
 
-        // when -> setup additional mocks for UserRepository
-        when(userRepository.findByUsername(Mockito.any())).thenReturn(testUser);
+        // when -> the unique constraint of the username rejects the insert
+        when(userRepository.save(Mockito.any())).thenThrow(new DataIntegrityViolationException("uk_user_username"));
 
         // then -> attempt to create second user with same user -> check that an error
         // is thrown
-        assertThrows(ResponseStatusException.class, () -> userService.createAndReturnUser(testUser));
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.createAndReturnUser(testUser));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
@@ -50,6 +50,8 @@ class AdvancedStatisticServiceIntegrationTest {
     private VoteService voteService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private GameHistoryService gameHistoryService;
 
     private User user1;
     private User user2;
@@ -132,6 +134,11 @@ class AdvancedStatisticServiceIntegrationTest {
 
         String categoryName = categoryNames.get(0);
 
+        // the statistics are read from the history, so the game has to be closed and archived first
+        game.setStatus(GameStatus.CLOSED);
+        gameRepository.saveAndFlush(game);
+        gameHistoryService.archiveGame(game.getGameId());
+
         AtomicReference<AdvancedStatisticGetDTO> advancedStatisticGetDTO = new AtomicReference<>();
         assertDoesNotThrow(() -> advancedStatisticGetDTO.set(advancedStatisticService.getAdvancedUserStatistic(user1.getId())));
 
@@ -1,6 +1,7 @@
 package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
 
 import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.controller.AnswerController;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundStatus;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
@@ -8,7 +9,10 @@ import ch.uzh.ifi.hase.soprafs23.entity.game.Answer;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
+import ch.uzh.ifi.hase.soprafs23.entity.game.RoundAnswerBuffer;
 import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.CategoryAnswersGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundAnswersGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
 import ch.uzh.ifi.hase.soprafs23.service.GameService;
 import ch.uzh.ifi.hase.soprafs23.service.UserService;
@@ -23,6 +27,7 @@ import org.springframework.web.server.ResponseStatusException;
 import javax.transaction.Transactional;
 import java.util.*;
 
+import static ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudgetAssertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 @Transactional
@@ -58,6 +63,7 @@ class AnswerServiceIntegrationTest {
         user3 = createUserForTesting();
 
         game = createGameForTesting(user1.getToken());
+        RoundCacheRepository.removeGame(game.getGamePin());
 
         game.addPlayer(user2);
 
@@ -82,7 +88,8 @@ class AnswerServiceIntegrationTest {
         int gamePin = game.getGamePin();
         String user1Token = user1.getToken();
 
-        assertDoesNotThrow(() -> answerService.saveAnswers(gamePin, user1Token, 1, answers));
+        runWithinQueryBudget(AnswerController.class, "saveAnswers",
+                () -> answerService.saveAnswers(gamePin, user1Token, 1, answers));
 
         List<Answer> savedAnswers = answerRepository.findByRoundAndUser(round, user1);
 
@@ -121,6 +128,75 @@ class AnswerServiceIntegrationTest {
         assertEquals("These Answers have already been saved.", exception.getReason());
     }
 
+    @Test
+    void saveAnswers_roundRunning_bufferedUntilRoundEnds() {
+
+        Map<String, String> answers = Map.of(
+                "Stadt", "Athen",
+                "Land", "Armenien",
+                "Auto", "Audi",
+                "Film Regisseur", "Woody Allen");
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        round.setStatus(RoundStatus.RUNNING);
+        roundRepository.saveAndFlush(round);
+
+        int gamePin = game.getGamePin();
+        AnswerBufferRepository.open(gamePin, 1);
+
+        try {
+            answerService.saveDraft(gamePin, user2.getToken(), 1, Map.of("Stadt", "Bern"));
+            answerService.saveAnswers(gamePin, user1.getToken(), 1, answers);
+
+            assertTrue(answerRepository.findByRound(round).isEmpty());
+
+            round.setStatus(RoundStatus.FINISHED);
+            roundRepository.saveAndFlush(round);
+            answerService.flushBufferedAnswers(gamePin, 1);
+
+            assertEquals(answers.size(), answerRepository.findByRoundAndUser(round, user1).size());
+            List<Answer> draftAnswers = answerRepository.findByRoundAndUser(round, user2);
+            assertEquals(1, draftAnswers.size());
+            assertEquals("Bern", draftAnswers.get(0).getAnswerString());
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> answerService.saveAnswers(gamePin, user2.getToken(), 1, answers));
+            assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        }
+        finally {
+            AnswerBufferRepository.removeGame(gamePin);
+        }
+    }
+
+    @Test
+    void saveAnswers_unknownCategory_notBuffered() {
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        round.setStatus(RoundStatus.RUNNING);
+        roundRepository.saveAndFlush(round);
+
+        int gamePin = game.getGamePin();
+        String user1Token = user1.getToken();
+        Map<String, String> answers = Map.of("Stadt", "Athen", "Fluss", "Aare");
+        RoundAnswerBuffer buffer = AnswerBufferRepository.open(gamePin, 1);
+
+        try {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> answerService.saveAnswers(gamePin, user1Token, 1, answers));
+
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+            assertEquals("This category does not exist.", exception.getReason());
+            assertTrue(buffer.close().isEmpty());
+        }
+        finally {
+            AnswerBufferRepository.removeGame(gamePin);
+        }
+    }
+
     @Test
     void saveAnswers_userNotInGame() {
 
@@ -171,8 +247,8 @@ class AnswerServiceIntegrationTest {
         List<Map<Integer, String>> answerListExpected = new ArrayList<>();
         answerListExpected.add(answerUser1Stadt);
 
-        List<Map<Integer, String>> answerListActual =
-                answerService.getAnswers(game.getGamePin(), 1, "Stadt", user2.getToken());
+        List<Map<Integer, String>> answerListActual = callWithinQueryBudget(AnswerController.class, "getAnswers",
+                () -> answerService.getAnswers(game.getGamePin(), 1, "Stadt", user2.getToken()));
 
         assertEquals(answerListExpected.size(), answerListActual.size());
 
@@ -182,6 +258,42 @@ class AnswerServiceIntegrationTest {
         assertEquals(expectedMap.values().iterator().next(), actualMap.values().iterator().next());
     }
 
+    @Test
+    void getRoundAnswers_validInput() {
+
+        Map<String, String> answersUser1 = Map.of(
+                "Stadt", "Athen",
+                "Land", "Armenien",
+                "Auto", "Audi",
+                "Film Regisseur", "Woody Allen");
+        Map<String, String> answersUser2 = Map.of(
+                "Stadt", "Bern",
+                "Land", "Belgien",
+                "Auto", "BMW",
+                "Film Regisseur", "Brian De Palma");
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        answerService.saveAnswers(game.getGamePin(), user1.getToken(), 1, answersUser1);
+        answerService.saveAnswers(game.getGamePin(), user2.getToken(), 1, answersUser2);
+
+        RoundAnswersGetDTO roundAnswers = callWithinQueryBudget(AnswerController.class, "getRoundAnswers",
+                () -> answerService.getRoundAnswers(game.getGamePin(), 1, user2.getToken()));
+
+        assertEquals(1, roundAnswers.getRound());
+        assertEquals(4, roundAnswers.getCategories().size());
+
+        for (CategoryAnswersGetDTO categoryAnswers : roundAnswers.getCategories()) {
+            assertEquals(1, categoryAnswers.getAnswerIds().length);
+            assertArrayEquals(new String[]{answersUser1.get(categoryAnswers.getCategoryName())},
+                    categoryAnswers.getAnswerStrings());
+        }
+    }
+
     private int userNameSuffix = 1;
     private User createUserForTesting() {
         User userForCreation = new User();
@@ -0,0 +1,196 @@
+package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameResult;
+import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
+import ch.uzh.ifi.hase.soprafs23.constant.RoundStatus;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.entity.game.GameHistory;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
+import ch.uzh.ifi.hase.soprafs23.repository.*;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.HistoryStatisticView;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameHistoryGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.LeaderboardGetDTO;
+import ch.uzh.ifi.hase.soprafs23.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class GameHistoryServiceIntegrationTest {
+
+    @Autowired
+    private GameHistoryService gameHistoryService;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private RoundRepository roundRepository;
+    @Autowired
+    private AnswerRepository answerRepository;
+    @Autowired
+    private GameHistoryRepository gameHistoryRepository;
+    @Autowired
+    private GameService gameService;
+    @Autowired
+    private AnswerService answerService;
+    @Autowired
+    private VoteService voteService;
+    @Autowired
+    private UserService userService;
+
+    private User user1;
+    private User user2;
+    private Game game;
+    private final List<String> categoryNames = List.of("Stadt");
+
+    @BeforeEach
+    void setUp() {
+        user1 = createUserForTesting();
+        user2 = createUserForTesting();
+
+        game = createGameForTesting();
+    }
+
+    @Test
+    void archiveGame_closedGame_movesGameIntoHistory() {
+
+        int gamePin = playOneRound();
+
+        game.setStatus(GameStatus.CLOSED);
+        gameRepository.saveAndFlush(game);
+        int gameId = game.getGameId();
+
+        assertEquals(List.of(gameId), gameHistoryService.getArchivableGameIds(LocalDateTime.now().plusMinutes(1), 10));
+        assertTrue(gameHistoryService.getArchivableGameIds(LocalDateTime.now().minusMinutes(1), 10).isEmpty());
+
+        gameHistoryService.archiveGame(gameId);
+
+        assertNull(gameRepository.findByGameId(gameId));
+        assertNull(gameRepository.findByGamePin(gamePin));
+        assertTrue(answerRepository.findAllByGamePin(gamePin).isEmpty());
+
+        List<GameHistory> gameHistories = gameHistoryRepository.findAll();
+        assertEquals(1, gameHistories.size());
+        assertEquals(gamePin, gameHistories.get(0).getGamePin());
+        assertTrue(gameHistories.get(0).getRounds().contains("Athen"));
+
+        List<GameHistoryGetDTO> history = gameHistoryService.getUserHistory(user2.getId());
+        assertEquals(1, history.size());
+        assertEquals(gamePin, history.get(0).getGamePin());
+        assertEquals(categoryNames, history.get(0).getCategories());
+        assertEquals(3, history.get(0).getScore());
+        assertEquals(GameResult.WINNER, history.get(0).getResult());
+
+        HistoryStatisticView historyStatistic = gameHistoryService.getHistoryStatistic(user1.getId());
+        assertEquals(1, historyStatistic.getPlayedGames());
+        assertEquals(0, historyStatistic.getWins());
+        assertEquals(1, historyStatistic.getAnswers());
+        assertEquals(1, historyStatistic.getPoints());
+        assertEquals(0, historyStatistic.getCorrectUniqueAnswers());
+
+        // the leaderboard keeps the points of archived games
+        List<LeaderboardGetDTO> leaderboard = gameService.getLeaderboard();
+        assertEquals(user2.getUsername(), leaderboard.get(0).getUsername());
+        assertEquals(3, leaderboard.get(0).getAccumulatedScore());
+        assertEquals(user1.getUsername(), leaderboard.get(1).getUsername());
+        assertEquals(1, leaderboard.get(1).getAccumulatedScore());
+
+    }
+
+    @Test
+    void archiveGame_runningGame_throwsConflict() {
+
+        playOneRound();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameHistoryService.archiveGame(game.getGameId()));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertTrue(gameHistoryRepository.findAll().isEmpty());
+
+    }
+
+    @Test
+    void getUserHistory_unknownUser_throwsNotFound() {
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameHistoryService.getUserHistory(-1));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+
+    }
+
+    private int playOneRound() {
+        String user1Token = user1.getToken();
+        String user2Token = user2.getToken();
+
+        game = gameService.createAndReturnGame(game, user1Token);
+        int gamePin = game.getGamePin();
+
+        gameService.joinGame(gamePin, user2Token);
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, 1);
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        answerService.saveAnswers(gamePin, user1Token, 1, Map.of("Stadt", "Athen"));
+        answerService.saveAnswers(gamePin, user2Token, 1, Map.of("Stadt", "Aarau"));
+
+        int answerOfUser1 = answerService.getAnswers(gamePin, 1, "Stadt", user2Token).get(0).keySet().iterator().next();
+        int answerOfUser2 = answerService.getAnswers(gamePin, 1, "Stadt", user1Token).get(0).keySet().iterator().next();
+
+        voteService.saveVote(gamePin, "Stadt", user2Token, Map.of(answerOfUser1, "CORRECT_NOT_UNIQUE"));
+        voteService.saveVote(gamePin, "Stadt", user1Token, Map.of(answerOfUser2, "CORRECT_UNIQUE"));
+
+        return gamePin;
+    }
+
+    private int userNameSuffix = 1;
+    private User createUserForTesting() {
+        User userForCreation = new User();
+
+        String userName = String.format("user%d", userNameSuffix);
+        userNameSuffix++;
+
+        userForCreation.setUsername(userName);
+        userForCreation.setPassword("testPassword");
+
+        return userService.createAndReturnUser(userForCreation);
+    }
+
+    private Game createGameForTesting() {
+
+        Game gameForCreation = new Game();
+        gameForCreation.setRounds(1);
+        gameForCreation.setRoundLength(RoundLength.MEDIUM);
+
+        List<Category> categories = new ArrayList<>();
+        for (String categoryName : categoryNames) {
+            Category category = new Category();
+            category.setName(categoryName);
+            categories.add(category);
+        }
+        gameForCreation.setCategories(categories);
+
+        return gameForCreation;
+    }
+}
@@ -0,0 +1,126 @@
+package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.repository.GameHistoryRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
+import ch.uzh.ifi.hase.soprafs23.service.GameHistoryService;
+import ch.uzh.ifi.hase.soprafs23.service.GameJanitorService;
+import ch.uzh.ifi.hase.soprafs23.service.GameService;
+import ch.uzh.ifi.hase.soprafs23.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class GameJanitorServiceIntegrationTest {
+
+    @Autowired
+    private GameJanitorService gameJanitorService;
+    @Autowired
+    private GameHistoryService gameHistoryService;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private GameHistoryRepository gameHistoryRepository;
+    @Autowired
+    private GameService gameService;
+    @Autowired
+    private UserService userService;
+
+    private User user1;
+    private User user2;
+    private final List<String> categoryNames = List.of("Stadt");
+
+    @BeforeEach
+    void setUp() {
+        user1 = createUserForTesting();
+        user2 = createUserForTesting();
+    }
+
+    @Test
+    void closeInactiveGame_abandonedLobby_closesAndArchivesGame() {
+
+        Game game = gameService.createAndReturnGame(createGameForTesting(), user1.getToken());
+        int gamePin = game.getGamePin();
+        gameService.joinGame(gamePin, user2.getToken());
+
+        assertTrue(gameJanitorService.getInactiveGamePins(Instant.now().minus(1, ChronoUnit.HOURS)).isEmpty());
+        List<Integer> inactiveGamePins = gameJanitorService.getInactiveGamePins(Instant.now().plus(1, ChronoUnit.HOURS));
+        assertEquals(List.of(gamePin), inactiveGamePins);
+
+        gameJanitorService.closeInactiveGame(gamePin);
+
+        assertNull(gameRepository.findByGamePin(gamePin));
+        assertEquals(1, gameHistoryRepository.findAll().size());
+        assertTrue(gameJanitorService.getInactiveGamePins(Instant.now().plus(1, ChronoUnit.HOURS)).isEmpty());
+
+    }
+
+    @Test
+    void purgeHistoryBatch_oldHistory_deletesInBatches() {
+
+        for (int i = 0; i < 3; i++) {
+            Game game = gameService.createAndReturnGame(createGameForTesting(), user1.getToken());
+            game.setStatus(GameStatus.CLOSED);
+            gameRepository.saveAndFlush(game);
+            gameHistoryService.archiveGame(game.getGameId());
+        }
+
+        assertEquals(0, gameJanitorService.purgeHistoryBatch(LocalDateTime.now().minusDays(1), 2));
+        assertEquals(3, gameHistoryRepository.findAll().size());
+
+        LocalDateTime closedBefore = LocalDateTime.now().plusMinutes(1);
+        assertEquals(2, gameJanitorService.purgeHistoryBatch(closedBefore, 2));
+        assertEquals(1, gameJanitorService.purgeHistoryBatch(closedBefore, 2));
+        assertEquals(0, gameJanitorService.purgeHistoryBatch(closedBefore, 2));
+        assertTrue(gameHistoryRepository.findAll().isEmpty());
+
+    }
+
+    private int userNameSuffix = 1;
+    private User createUserForTesting() {
+        User userForCreation = new User();
+
+        String userName = String.format("user%d", userNameSuffix);
+        userNameSuffix++;
+
+        userForCreation.setUsername(userName);
+        userForCreation.setPassword("testPassword");
+
+        return userService.createAndReturnUser(userForCreation);
+    }
+
+    private Game createGameForTesting() {
+
+        Game gameForCreation = new Game();
+        gameForCreation.setRounds(1);
+        gameForCreation.setRoundLength(RoundLength.MEDIUM);
+
+        List<Category> categories = new ArrayList<>();
+        for (String categoryName : categoryNames) {
+            Category category = new Category();
+            category.setName(categoryName);
+            categories.add(category);
+        }
+        gameForCreation.setCategories(categories);
+
+        return gameForCreation;
+    }
+}
@@ -3,6 +3,7 @@ package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
 import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundStatus;
+import ch.uzh.ifi.hase.soprafs23.controller.GameController;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
@@ -12,7 +13,9 @@ import ch.uzh.ifi.hase.soprafs23.repository.AnswerRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.RoundRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.GameSettingView;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.LeaderboardGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.LeaderboardPageGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.ScoreboardGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.WinnerGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.GameCategoriesDTO;
@@ -34,6 +37,7 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.BDDAssumptions.given;
+import static ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudgetAssertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -233,6 +237,24 @@ class GameServiceIntegrationTest {
 
     }
 
+    @Test
+    void getGameSettingByGamePin_validInput() {
+
+        String user1Token = user1.getToken();
+
+        assertDoesNotThrow(() -> game = gameService.createAndReturnGame(game, user1Token));
+        int gamePin = game.getGamePin();
+
+        GameSettingView gameSettingView = callWithinQueryBudget(GameController.class, "getGameSettingByGamePin",
+                () -> gameService.getGameSettingByGamePin(gamePin));
+
+        assertEquals(user1.getId(), gameSettingView.getHostId());
+        assertEquals(game.getRounds(), gameSettingView.getRoundAmount());
+        assertEquals(game.getRoundLength(), gameSettingView.getRoundLength());
+        assertEquals(GameStatus.OPEN, gameSettingView.getStatus());
+
+    }
+
     @Test
     void getGameUsersByGamePin_validInput() {
 
@@ -246,7 +268,8 @@ class GameServiceIntegrationTest {
 
         AtomicReference<GameUsersDTO> gameUsersDTOAtomicReference = new AtomicReference<>();
 
-        assertDoesNotThrow(() -> gameUsersDTOAtomicReference.set(gameService.getGameUsersByGamePin(gamePin)));
+        gameUsersDTOAtomicReference.set(callWithinQueryBudget(GameController.class, "getGameUsersByGamePin",
+                () -> gameService.getGameUsersByGamePin(gamePin)));
 
         List<String> gameUsernamesWithoutHost = new ArrayList<>();
         gameUsernamesWithoutHost.add(user2.getUsername());
@@ -313,7 +336,8 @@ class GameServiceIntegrationTest {
 
         AtomicReference<List<WinnerGetDTO>> winnerGetDTOList = new AtomicReference<>();
 
-        assertDoesNotThrow(() -> winnerGetDTOList.set(gameService.getWinner(gamePin)));
+        winnerGetDTOList.set(callWithinQueryBudget(GameController.class, "getWinner",
+                () -> gameService.getWinner(gamePin)));
 
         List<String> actualWinnerUsernames = new ArrayList<>();
         for (int i = 0; i < winnerGetDTOList.get().size(); i++) {
@@ -361,7 +385,8 @@ class GameServiceIntegrationTest {
 
         AtomicReference<List<ScoreboardGetDTO>> scoreboardGetDTOList = new AtomicReference<>();
 
-        assertDoesNotThrow(() -> scoreboardGetDTOList.set(gameService.getScoreboard(gamePin)));
+        scoreboardGetDTOList.set(callWithinQueryBudget(GameController.class, "getScoreboard",
+                () -> gameService.getScoreboard(gamePin)));
 
         List<String> actualScoreboard = new ArrayList<>();
         for (int i = 0; i < scoreboardGetDTOList.get().size(); i++) {
@@ -409,7 +434,8 @@ class GameServiceIntegrationTest {
 
         AtomicReference<List<LeaderboardGetDTO>> leaderboardGetDTOList = new AtomicReference<>();
 
-        assertDoesNotThrow(() -> leaderboardGetDTOList.set(gameService.getLeaderboard()));
+        leaderboardGetDTOList.set(callWithinQueryBudget(GameController.class, "getLeaderboard",
+                () -> gameService.getLeaderboard()));
 
         List<String> actualLeaderboard = new ArrayList<>();
         for (int i = 0; i < leaderboardGetDTOList.get().size(); i++) {
@@ -528,4 +554,66 @@ class GameServiceIntegrationTest {
                 "Stadt", "Athen");
     }
 
+    @Test
+    void getLeaderboardPage_validInput_pagesMatchLeaderboard() {
+
+        String user1Token = user1.getToken();
+        String user2Token = user2.getToken();
+
+        Map<String, String> answers = getCategoryAnswerMap();
+
+        assertDoesNotThrow(() -> game = gameService.createAndReturnGame(game, user1Token));
+        int gamePin = game.getGamePin();
+
+        assertDoesNotThrow(() -> gameService.joinGame(gamePin, user2Token));
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, 1);
+
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        assertDoesNotThrow(() -> answerService.saveAnswers(gamePin, user1Token, 1, answers));
+        assertDoesNotThrow(() -> answerService.saveAnswers(gamePin, user2Token, 1, answers));
+
+        Map<Integer, String> votingForUser1 = Map.of(1, "CORRECT_NOT_UNIQUE");
+        Map<Integer, String> votingForUser2 = Map.of(2, "CORRECT_UNIQUE");
+
+        assertDoesNotThrow(() -> voteService.saveVote(gamePin, categoryNames.get(0), user1Token, votingForUser1));
+        assertDoesNotThrow(() -> voteService.saveVote(gamePin, categoryNames.get(0), user2Token, votingForUser2));
+
+        List<LeaderboardGetDTO> leaderboard = gameService.getLeaderboard();
+
+        LeaderboardPageGetDTO firstPage = callWithinQueryBudget(GameController.class, "getLeaderboardPage",
+                () -> gameService.getLeaderboardPage(null, 3));
+        assertEquals(3, firstPage.getEntries().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        LeaderboardPageGetDTO secondPage = callWithinQueryBudget(GameController.class, "getLeaderboardPage",
+                () -> gameService.getLeaderboardPage(firstPage.getNextCursor(), 3));
+        assertEquals(1, secondPage.getEntries().size());
+        assertNull(secondPage.getNextCursor());
+
+        List<String> pagedLeaderboard = new ArrayList<>();
+        List<String> expectedLeaderboard = new ArrayList<>();
+        for (LeaderboardGetDTO entry : firstPage.getEntries()) {
+            pagedLeaderboard.add(entry.getUsername());
+        }
+        for (LeaderboardGetDTO entry : secondPage.getEntries()) {
+            pagedLeaderboard.add(entry.getUsername());
+        }
+        for (LeaderboardGetDTO entry : leaderboard) {
+            expectedLeaderboard.add(entry.getUsername());
+        }
+
+        assertEquals(expectedLeaderboard, pagedLeaderboard);
+
+        List<String> streamedLeaderboard = new ArrayList<>();
+        gameService.streamLeaderboard(entry -> streamedLeaderboard.add(entry.getUsername()));
+
+        assertEquals(expectedLeaderboard, streamedLeaderboard);
+
+    }
 }
@@ -0,0 +1,165 @@
+package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
+
+import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
+import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
+import ch.uzh.ifi.hase.soprafs23.constant.RoundStatus;
+import ch.uzh.ifi.hase.soprafs23.controller.VoteController;
+import ch.uzh.ifi.hase.soprafs23.entity.User;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
+import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
+import ch.uzh.ifi.hase.soprafs23.repository.AnswerRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.RoundCacheRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.RoundRepository;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
+import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
+import ch.uzh.ifi.hase.soprafs23.service.GameService;
+import ch.uzh.ifi.hase.soprafs23.service.UserService;
+import ch.uzh.ifi.hase.soprafs23.service.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudgetAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class LargeLobbyIntegrationTest {
+
+    private static final int NUMBER_OF_PLAYERS = 100;
+    private static final int VOTES_PER_ANSWER = 3;
+
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private RoundRepository roundRepository;
+    @Autowired
+    private AnswerRepository answerRepository;
+    @Autowired
+    private GameService gameService;
+    @Autowired
+    private AnswerService answerService;
+    @Autowired
+    private VoteService voteService;
+    @Autowired
+    private UserService userService;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<String> categoryNames = List.of(
+            "Stadt", "Land", "Fluss", "Name", "Beruf", "Tier", "Pflanze", "Marke", "Sport", "Essen");
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+        roundRepository.deleteAll();
+        answerRepository.deleteAll();
+
+        for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+            users.add(createUserForTesting());
+        }
+    }
+
+    @Test
+    void sampledVoting_hundredPlayersAndTenCategories_staysWithinQueryBudget() {
+
+        Game game = gameService.createAndReturnGame(createGameForTesting(), users.get(0).getToken());
+        int gamePin = game.getGamePin();
+        RoundCacheRepository.removeGame(gamePin);
+
+        for (User user : users.subList(1, NUMBER_OF_PLAYERS)) {
+            gameService.joinGame(gamePin, user.getToken());
+        }
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, 1);
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        for (User user : users) {
+            answerService.saveAnswers(gamePin, user.getToken(), 1, getCategoryAnswerMap(user));
+        }
+
+        for (String categoryName : categoryNames) {
+            for (User user : users) {
+                List<Map<Integer, String>> answersToJudge =
+                        answerService.getAnswers(gamePin, 1, categoryName, user.getToken());
+                assertEquals(VOTES_PER_ANSWER, answersToJudge.size());
+
+                Map<Integer, String> votings = new HashMap<>();
+                for (Map<Integer, String> answer : answersToJudge) {
+                    answer.keySet().forEach(answerId -> votings.put(answerId, "CORRECT_UNIQUE"));
+                }
+                voteService.saveVote(gamePin, categoryName, user.getToken(), votings);
+            }
+        }
+
+        for (String categoryName : categoryNames) {
+            List<VoteGetDTO> votes = callWithinQueryBudget(VoteController.class, "getVotes",
+                    () -> voteService.getVotes(gamePin, 1, categoryName, users.get(0).getToken()));
+
+            assertEquals(NUMBER_OF_PLAYERS, votes.size());
+            for (VoteGetDTO vote : votes) {
+                assertEquals(VOTES_PER_ANSWER, vote.getNumberOfUnique());
+            }
+        }
+    }
+
+    private int userNameSuffix = 1;
+    private User createUserForTesting() {
+        User userForCreation = new User();
+
+        String userName = String.format("user%d", userNameSuffix);
+        userNameSuffix++;
+
+        userForCreation.setUsername(userName);
+        userForCreation.setPassword("testPassword");
+
+        return userService.createAndReturnUser(userForCreation);
+    }
+
+    private Game createGameForTesting() {
+
+        Game gameForCreation = new Game();
+        gameForCreation.setRounds(1);
+        gameForCreation.setRoundLength(RoundLength.MEDIUM);
+        gameForCreation.setCategories(getCategories());
+        gameForCreation.setMaxPlayers(NUMBER_OF_PLAYERS);
+        gameForCreation.setVotesPerAnswer(VOTES_PER_ANSWER);
+
+        return gameForCreation;
+    }
+
+    private List<Category> getCategories() {
+
+        List<Category> mappedCategories = new ArrayList<>();
+
+        for (String categoryName : categoryNames) {
+            Category mappedCategory = new Category();
+            mappedCategory.setName(categoryName);
+            mappedCategories.add(mappedCategory);
+        }
+        return mappedCategories;
+    }
+
+    private Map<String, String> getCategoryAnswerMap(User user) {
+        Map<String, String> answerMap = new HashMap<>();
+        for (String categoryName : categoryNames) {
+            answerMap.put(categoryName, categoryName + user.getUsername());
+        }
+        return answerMap;
+    }
+
+}
@@ -16,6 +16,7 @@ import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.RoundRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.SkipRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
 import ch.uzh.ifi.hase.soprafs23.service.QuoteService;
 import ch.uzh.ifi.hase.soprafs23.service.RoundService;
 import ch.uzh.ifi.hase.soprafs23.service.WebSocketService;
@@ -56,6 +57,9 @@ public class RoundIntegrationTest {
     @Mock
     private QuoteService quoteService;
 
+    @Mock
+    private AnswerService answerService;
+
 
 
     @Mock
@@ -1,20 +1,30 @@
 package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
 
+import ch.uzh.ifi.hase.soprafs23.controller.UserController;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.repository.UserRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.projection.UserView;
 import ch.uzh.ifi.hase.soprafs23.service.QuoteService;
 import ch.uzh.ifi.hase.soprafs23.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 
+import static ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudgetAssertions.callWithinQueryBudget;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -37,6 +47,8 @@ class UserServiceIntegrationTest {
     @MockBean // Add this annotation to mock the QuoteService
     private QuoteService quoteService;
 
+    private final Logger logger = LoggerFactory.getLogger(UserServiceIntegrationTest.class);
+
     @BeforeEach
     public void setup() { userRepository.deleteAll(); }
 
@@ -83,4 +95,153 @@ class UserServiceIntegrationTest {
     // check that an error is thrown
     assertThrows(ResponseStatusException.class, () -> userService.createAndReturnUser(testUser2));
     }
+
+    @Test
+    void createUser_concurrentRegistrations_onlyOneGetsTheUsername() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<Future<User>> sameUsername = new ArrayList<>();
+    List<Future<User>> distinctUsernames = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+        int userNumber = i;
+        sameUsername.add(executor.submit(() -> {
+            start.await();
+            return userService.createAndReturnUser(createTestUser("user1"));
+        }));
+        distinctUsernames.add(executor.submit(() -> {
+            start.await();
+            return userService.createAndReturnUser(createTestUser("other" + userNumber));
+        }));
+    }
+    start.countDown();
+
+    int created = 0;
+    int conflicts = 0;
+    for (Future<User> registration : sameUsername) {
+        try {
+            registration.get(10, TimeUnit.SECONDS);
+            created++;
+        }
+        catch (ExecutionException e) {
+            assertEquals(HttpStatus.CONFLICT, ((ResponseStatusException) e.getCause()).getStatus());
+            conflicts++;
+        }
+    }
+    for (Future<User> registration : distinctUsernames) {
+        assertNotNull(registration.get(10, TimeUnit.SECONDS).getToken());
+    }
+    executor.shutdown();
+
+    assertEquals(1, created);
+    assertEquals(threads - 1, conflicts);
+    assertEquals(threads + 1, userRepository.count());
+    }
+
+    /**
+     * Measures the registrations per second as the number of concurrent clients grows.
+     * The numbers depend on the machine, so it only runs on request:
+     * REGISTRATION_BENCHMARK=true ./gradlew test --tests '*UserServiceIntegrationTest.createUser_throughput*'
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "REGISTRATION_BENCHMARK", matches = "true")
+    void createUser_throughputByConcurrency() throws Exception {
+    int registrationsPerRun = 400;
+
+    for (int threads : List.of(1, 2, 4, 8, 16)) {
+        userRepository.deleteAll();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<User>> registrations = new ArrayList<>();
+        for (int i = 0; i < registrationsPerRun; i++) {
+            String username = "user" + threads + "-" + i;
+            registrations.add(executor.submit(() -> {
+                start.await();
+                return userService.createAndReturnUser(createTestUser(username));
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<User> registration : registrations) {
+            assertNotNull(registration.get(60, TimeUnit.SECONDS).getToken());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        double registrationsPerSecond = registrationsPerRun / (elapsedNanos / 1e9);
+        logger.info(String.format("%d threads: %.0f registrations per second", threads, registrationsPerSecond));
+    }
+    }
+
+    @Test
+    void isUsernameAvailable_registeredAndFreeUsernames() {
+    userService.rebuildUsernameFilter();
+    userService.createAndReturnUser(createTestUser("user1"));
+
+    assertFalse(callWithinQueryBudget(UserController.class, "checkUsernameAvailability",
+            () -> userService.isUsernameAvailable("user1")));
+    assertTrue(callWithinQueryBudget(UserController.class, "checkUsernameAvailability",
+            () -> userService.isUsernameAvailable("free")));
+    }
+
+    @Test
+    void getUserViews_validInputs_returnsPublicProfiles() {
+    User testUser = new User();
+    testUser.setUsername("user1");
+    testUser.setPassword("alpha");
+    testUser.setCreationDate(LocalDate.EPOCH);
+    User createdUser = userService.createAndReturnUser(testUser);
+
+    List<UserView> userViews = callWithinQueryBudget(UserController.class, "getAllUsers",
+            () -> userService.getUserViews());
+
+    assertEquals(1, userViews.size());
+    assertEquals(createdUser.getId(), userViews.get(0).getId());
+    assertEquals("user1", userViews.get(0).getUsername());
+
+    UserView userView = callWithinQueryBudget(UserController.class, "getUserByID",
+            () -> userService.getUserViewById(createdUser.getId()));
+
+    assertEquals("user1", userView.getUsername());
+    assertEquals(LocalDate.EPOCH, userView.getCreationDate());
+    }
+
+    @Test
+    void getUserViewPage_validInputs_pagesByIdWithoutGaps() {
+    for (String username : List.of("user1", "user2", "user3")) {
+        User testUser = new User();
+        testUser.setUsername(username);
+        testUser.setPassword("alpha");
+        testUser.setCreationDate(LocalDate.EPOCH);
+        userService.createAndReturnUser(testUser);
+    }
+
+    List<UserView> firstPage = callWithinQueryBudget(UserController.class, "getUserPage",
+            () -> userService.getUserViewPage(null, 2));
+
+    assertEquals(2, firstPage.size());
+    assertEquals("user1", firstPage.get(0).getUsername());
+    assertEquals("user2", firstPage.get(1).getUsername());
+
+    List<UserView> secondPage = callWithinQueryBudget(UserController.class, "getUserPage",
+            () -> userService.getUserViewPage(firstPage.get(1).getId(), 2));
+
+    assertEquals(1, secondPage.size());
+    assertEquals("user3", secondPage.get(0).getUsername());
+
+    List<String> streamedUsernames = new ArrayList<>();
+    userService.streamUserViews(user -> streamedUsernames.add(user.getUsername()));
+
+    assertEquals(List.of("user1", "user2", "user3"), streamedUsernames);
+    }
+
+    private User createTestUser(String username) {
+        User testUser = new User();
+        testUser.setUsername(username);
+        testUser.setPassword("alpha");
+        return testUser;
+    }
 }
@@ -3,13 +3,17 @@ package ch.uzh.ifi.hase.soprafs23.serviceIntegration;
 import ch.uzh.ifi.hase.soprafs23.constant.GameStatus;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundLength;
 import ch.uzh.ifi.hase.soprafs23.constant.RoundStatus;
+import ch.uzh.ifi.hase.soprafs23.controller.VoteController;
 import ch.uzh.ifi.hase.soprafs23.entity.User;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Category;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Game;
 import ch.uzh.ifi.hase.soprafs23.entity.game.Round;
 import ch.uzh.ifi.hase.soprafs23.repository.AnswerRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.GameRepository;
+import ch.uzh.ifi.hase.soprafs23.repository.RoundCacheRepository;
 import ch.uzh.ifi.hase.soprafs23.repository.RoundRepository;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.CategoryVotesGetDTO;
+import ch.uzh.ifi.hase.soprafs23.rest.dto.game.RoundVotesGetDTO;
 import ch.uzh.ifi.hase.soprafs23.rest.dto.game.VoteGetDTO;
 import ch.uzh.ifi.hase.soprafs23.service.AnswerService;
 import ch.uzh.ifi.hase.soprafs23.service.GameService;
@@ -30,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static ch.uzh.ifi.hase.soprafs23.monitoring.QueryBudgetAssertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 @Transactional
@@ -71,6 +76,7 @@ class VoteServiceIntegrationTest {
         user4 = createUserForTesting();
 
         game = createGameForTesting();
+        RoundCacheRepository.removeGame(game.getGamePin());
 
     }
 
@@ -231,7 +237,8 @@ class VoteServiceIntegrationTest {
                 3, "CORRECT_NOT_UNIQUE"
         );
 
-        voteService.saveVote(gamePin, categoryNames.get(0), user1Token, votingOfUser1);
+        runWithinQueryBudget(VoteController.class, "saveVote",
+                () -> voteService.saveVote(gamePin, categoryNames.get(0), user1Token, votingOfUser1));
         voteService.saveVote(gamePin, categoryNames.get(0), user2Token, votingOfUser2);
         voteService.saveVote(gamePin, categoryNames.get(0), user3Token, votingOfUser3);
         voteService.saveVote(gamePin, categoryNames.get(0), user4Token, votingOfUser4);
@@ -239,7 +246,8 @@ class VoteServiceIntegrationTest {
         String categoryName = categoryNames.get(0);
 
         AtomicReference<List<VoteGetDTO>> voteGetDTOList = new AtomicReference<>();
-        voteGetDTOList.set(voteService.getVotes(gamePin, 1, categoryName, user1Token));
+        voteGetDTOList.set(callWithinQueryBudget(VoteController.class, "getVotes",
+                () -> voteService.getVotes(gamePin, 1, categoryName, user1Token)));
 
         assertEquals(4, voteGetDTOList.get().size());
 
@@ -274,6 +282,138 @@ class VoteServiceIntegrationTest {
         assertEquals(1, voteGetDTOList.get().get(3).getNumberOfNoVote());
     }
 
+    @Test
+    void getRoundVotes_validInput_matchesVotesPerCategory() {
+
+        String user1Token = user1.getToken();
+        String user2Token = user2.getToken();
+        String user3Token = user3.getToken();
+
+        Map<String, String> answers = getCategoryAnswerMap();
+        game = gameService.createAndReturnGame(game, user1Token);
+        int gamePin = game.getGamePin();
+
+        gameService.joinGame(gamePin, user2Token);
+        gameService.joinGame(gamePin, user3Token);
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, 1);
+
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        answerService.saveAnswers(gamePin, user1Token, 1, answers);
+        answerService.saveAnswers(gamePin, user2Token, 1, answers);
+        answerService.saveAnswers(gamePin, user3Token, 1, answers);
+
+        voteService.saveVote(gamePin, categoryNames.get(0), user1Token, Map.of(2, "WRONG", 3, "CORRECT_UNIQUE"));
+        voteService.saveVote(gamePin, categoryNames.get(0), user2Token, Map.of(1, "CORRECT_NOT_UNIQUE", 3, "WRONG"));
+        voteService.saveVote(gamePin, categoryNames.get(0), user3Token, Map.of(1, "CORRECT_UNIQUE", 2, "WRONG"));
+
+        List<VoteGetDTO> expectedVotes = voteService.getVotes(gamePin, 1, categoryNames.get(0), user1Token);
+
+        RoundVotesGetDTO roundVotes = callWithinQueryBudget(VoteController.class, "getRoundVotes",
+                () -> voteService.getRoundVotes(gamePin, 1, user1Token));
+
+        assertEquals(1, roundVotes.getRound());
+        assertEquals(1, roundVotes.getCategories().size());
+
+        CategoryVotesGetDTO categoryVotes = roundVotes.getCategories().get(0);
+        assertEquals(categoryNames.get(0), categoryVotes.getCategoryName());
+        assertEquals(expectedVotes.size(), categoryVotes.getUsernames().length);
+
+        for (int i = 0; i < expectedVotes.size(); i++) {
+            VoteGetDTO expectedVote = expectedVotes.get(i);
+            assertEquals(expectedVote.getUsername(), categoryVotes.getUsernames()[i]);
+            assertEquals(expectedVote.getAnswerString(), categoryVotes.getAnswerStrings()[i]);
+            assertEquals(expectedVote.getNumberOfUnique(), categoryVotes.getNumberOfUnique()[i]);
+            assertEquals(expectedVote.getNumberOfNotUnique(), categoryVotes.getNumberOfNotUnique()[i]);
+            assertEquals(expectedVote.getNumberOfWrong(), categoryVotes.getNumberOfWrong()[i]);
+            assertEquals(expectedVote.getNumberOfNoVote(), categoryVotes.getNumberOfNoVote()[i]);
+            assertEquals(expectedVote.getPoints(), categoryVotes.getPoints()[i]);
+        }
+    }
+
+    @Test
+    void getVotes_playerLeft_answerHiddenVotesStillCounted() {
+
+        String user1Token = user1.getToken();
+        String user2Token = user2.getToken();
+        String user3Token = user3.getToken();
+
+        Map<String, String> answers = getCategoryAnswerMap();
+        game = gameService.createAndReturnGame(game, user1Token);
+        int gamePin = game.getGamePin();
+
+        gameService.joinGame(gamePin, user2Token);
+        gameService.joinGame(gamePin, user3Token);
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, 1);
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        answerService.saveAnswers(gamePin, user1Token, 1, answers);
+        answerService.saveAnswers(gamePin, user2Token, 1, answers);
+        answerService.saveAnswers(gamePin, user3Token, 1, answers);
+
+        int answerOfUser1 = answerRepository.findByRoundAndUser(round, user1).get(0).getAnswerId();
+        voteService.saveVote(gamePin, "Stadt", user2Token, Map.of(answerOfUser1, "CORRECT_UNIQUE"));
+        voteService.saveVote(gamePin, "Stadt", user3Token, Map.of(answerOfUser1, "WRONG"));
+
+        game.removePlayer(user3);
+        gameRepository.saveAndFlush(game);
+        RoundCacheRepository.removeGame(gamePin);
+
+        List<VoteGetDTO> votes = voteService.getVotes(gamePin, 1, "Stadt", user1Token);
+
+        assertEquals(2, votes.size());
+        assertEquals(user1.getUsername(), votes.get(0).getUsername());
+        assertEquals(1, votes.get(0).getNumberOfUnique());
+        assertEquals(1, votes.get(0).getNumberOfWrong());
+    }
+
+    @Test
+    void reconcileVoteCounters_driftedCounter_isRecounted() {
+
+        String user1Token = user1.getToken();
+        String user2Token = user2.getToken();
+
+        game = gameService.createAndReturnGame(game, user1Token);
+        int gamePin = game.getGamePin();
+
+        gameService.joinGame(gamePin, user2Token);
+
+        game.setStatus(GameStatus.RUNNING);
+        gameRepository.saveAndFlush(game);
+
+        Round round = roundRepository.findByGameAndRoundNumber(game, 1);
+        round.setStatus(RoundStatus.FINISHED);
+        roundRepository.saveAndFlush(round);
+
+        answerService.saveAnswers(gamePin, user1Token, 1, getCategoryAnswerMap());
+        answerService.saveAnswers(gamePin, user2Token, 1, getCategoryAnswerMap());
+
+        int answerOfUser1 = answerService.getAnswers(gamePin, 1, "Stadt", user2Token).get(0).keySet().iterator().next();
+        voteService.saveVote(gamePin, "Stadt", user2Token, Map.of(answerOfUser1, "CORRECT_UNIQUE"));
+
+        assertEquals(0, voteService.reconcileVoteCounters());
+
+        answerRepository.incrementVoteCounter(answerOfUser1, "WRONG");
+
+        assertEquals(1, voteService.reconcileVoteCounters());
+        assertEquals(0, voteService.reconcileVoteCounters());
+
+        VoteGetDTO voteOfUser1 = voteService.getVotes(gamePin, 1, "Stadt", user1Token).get(0);
+        assertEquals(user1.getUsername(), voteOfUser1.getUsername());
+        assertEquals(1, voteOfUser1.getNumberOfUnique());
+        assertEquals(0, voteOfUser1.getNumberOfWrong());
+    }
+
     private int userNameSuffix = 1;
     private User createUserForTesting() {
         User userForCreation = new User();